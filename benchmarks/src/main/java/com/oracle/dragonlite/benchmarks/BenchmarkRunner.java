@@ -0,0 +1,21 @@
+package com.oracle.dragonlite.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks with the GC profiler always enabled, so that every result comes with its allocation rate
+ * (gc.alloc.rate.norm: bytes allocated per operation).
+ * <p>
+ * Arguments are the usual JMH command line options, e.g. a benchmark name regexp.
+ */
+public class BenchmarkRunner {
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,55 @@
+package com.oracle.dragonlite.benchmarks;
+
+import com.oracle.dragonlite.configuration.ConfigurationFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of an OCI configuration file (ConfigurationFile.parse, one ConfigAccumulator.accept per line).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConfigurationFileParsing {
+	private static final String CONFIGURATION = """
+			# OCI configuration
+			[DEFAULT]
+			user=ocid1.user.oc1..aaaaaaaaexampleuserocid
+			fingerprint=12:34:56:78:90:ab:cd:ef:12:34:56:78:90:ab:cd:ef
+			key_file=oci_api_key.pem
+			tenancy=ocid1.tenancy.oc1..aaaaaaaaexampletenancyocid
+			region=eu-frankfurt-1
+			compartment_id=ocid1.compartment.oc1..aaaaaaaaexamplecompartmentocid
+
+			[SECONDARY]
+			region = us-ashburn-1
+			compartment_id = ocid1.compartment.oc1..aaaaaaaasecondcompartmentocid
+			""";
+
+	private File workingDirectory;
+
+	@Setup
+	public void setup() throws IOException {
+		workingDirectory = Files.createTempDirectory("dragonlite-bench").toFile();
+		Files.writeString(new File(workingDirectory, "config").toPath(), CONFIGURATION, StandardCharsets.UTF_8);
+	}
+
+	@TearDown
+	public void tearDown() {
+		new File(workingDirectory, "config").delete();
+		workingDirectory.delete();
+	}
+
+	@Benchmark
+	public ConfigurationFile.ConfigFile parse() throws IOException {
+		return ConfigurationFile.parse(workingDirectory, "config", "DEFAULT");
+	}
+}
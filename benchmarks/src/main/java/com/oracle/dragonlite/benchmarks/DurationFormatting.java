@@ -0,0 +1,28 @@
+package com.oracle.dragonlite.benchmarks;
+
+import com.oracle.dragonlite.util.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting of elapsed times (Utils.getDurationSince) below one second and over one hour.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DurationFormatting {
+	/**
+	 * Elapsed time in milliseconds.
+	 */
+	@Param({"250", "3723000"})
+	public long elapsed;
+
+	@Benchmark
+	public String getDurationSince() {
+		return Utils.getDurationSince(System.currentTimeMillis() - elapsed);
+	}
+}
@@ -0,0 +1,65 @@
+package com.oracle.dragonlite.benchmarks;
+
+import com.oracle.bmc.database.requests.ListAutonomousDatabasesRequest;
+import com.oracle.dragonlite.Main;
+import com.oracle.dragonlite.oci.OCIClients;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+
+/**
+ * Time-to-first-call of the OCI clients: time from the JVM start and from the session opening to the first
+ * listAutonomousDatabases answered by the local OCI simulator, then the time of the following calls and the heap used.
+ * <p>
+ * To be run in a fresh JVM, once with the SDK clients and once with <code>-Ddragonlite.oci.client=lite</code>.
+ * <p>
+ * Arguments: [following calls (default 100)]
+ */
+public class OCIClientStartup {
+	public static void main(String[] args) throws Exception {
+		final int calls = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+
+		final File workingDirectory = Files.createTempDirectory("dragonlite-startup").toFile();
+		ProvisioningBenchmark.writeConfiguration(workingDirectory);
+
+		try (ORDSStandIn ords = new ORDSStandIn(0L);
+			 OCISimulator simulator = new OCISimulator(new OCISimulator.Settings(), ords.getSqlDevWebUrl())) {
+			System.setProperty("dragonlite.workingDirectory", workingDirectory.getAbsolutePath());
+			System.setProperty(OCIClients.ENDPOINT_PROPERTY, simulator.getEndpoint());
+
+			final ListAutonomousDatabasesRequest request = ListAutonomousDatabasesRequest.builder()
+					.compartmentId(ProvisioningBenchmark.COMPARTMENT_ID).build();
+
+			final long startTime = System.nanoTime();
+			final Main session = Main.openSession("-d", "STARTUP");
+			try {
+				session.getDbClient().listAutonomousDatabases(request);
+				final long firstCall = System.nanoTime() - startTime;
+				final long sinceJVMStart = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+
+				final long followingStartTime = System.nanoTime();
+				for (int i = 0; i < calls; i++) {
+					session.getDbClient().listAutonomousDatabases(request);
+				}
+				final long following = System.nanoTime() - followingStartTime;
+
+				final Runtime runtime = Runtime.getRuntime();
+				System.out.printf("OCI client: %s%n", System.getProperty("dragonlite.oci.client", "sdk"));
+				System.out.printf("first call %8.1f ms (%d ms since JVM start)%n", firstCall / 1e6, sinceJVMStart);
+				System.out.printf("next calls %8.3f ms each (%d calls)%n", calls == 0 ? 0d : following / 1e6 / calls, calls);
+				System.out.printf("heap used  %8.1f MB, %d classes loaded%n", (runtime.totalMemory() - runtime.freeMemory()) / 1048576d,
+						ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+			}
+			finally {
+				session.close();
+			}
+		}
+		finally {
+			for (File file : workingDirectory.listFiles()) {
+				file.delete();
+			}
+			workingDirectory.delete();
+		}
+	}
+}
@@ -0,0 +1,747 @@
+package com.oracle.dragonlite.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local simulator of the OCI endpoints used by dragonlite (Database, Work Requests, Limits and Identity), to run the
+ * provisioning paths offline: point the OCI clients to {@link #getEndpoint()} with the
+ * <code>dragonlite.oci.endpoint</code> system property.
+ * <p>
+ * Databases go through their lifecycle states (PROVISIONING, STARTING, STOPPING, TERMINATING) for the configured
+ * delays while their work requests progress from ACCEPTED to SUCCEEDED with an increasing percentComplete. Listings
+ * are paged, and a share of the calls can be answered with 429 (throttling) or 503 (unavailable) errors. Every call
+ * is counted by operation.
+ * <p>
+ * It also serves a public IP service (see {@link #getIpServiceUrl()}). Requests are not authenticated.
+ */
+public class OCISimulator implements AutoCloseable {
+	private static final ObjectMapper mapper = new ObjectMapper();
+
+	private static final DateTimeFormatter RFC3339 = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+	private static final String INVOKER_IP_ADDRESS = "203.0.113.10";
+
+	/**
+	 * Knobs of the simulation, also readable from <code>simulator.*</code> system properties.
+	 */
+	public static final class Settings {
+		private long provisioningMillis = 30_000L;
+		private long startMillis = 10_000L;
+		private long stopMillis = 5_000L;
+		private long terminateMillis = 5_000L;
+		private long lifecycleLagMillis = 0L;
+		private long latencyMillis = 50L;
+		private int progressStep = 5;
+		private int pageSize = 50;
+		private double throttledPercent = 0d;
+		private double unavailablePercent = 0d;
+		private int freeTierLimit = 2;
+		private long seed = 42L;
+
+		public static Settings fromSystemProperties() {
+			final Settings settings = new Settings();
+			settings.provisioningMillis = Long.getLong("simulator.provisioning", settings.provisioningMillis);
+			settings.startMillis = Long.getLong("simulator.start", settings.startMillis);
+			settings.stopMillis = Long.getLong("simulator.stop", settings.stopMillis);
+			settings.terminateMillis = Long.getLong("simulator.terminate", settings.terminateMillis);
+			settings.lifecycleLagMillis = Long.getLong("simulator.lifecycleLag", settings.lifecycleLagMillis);
+			settings.latencyMillis = Long.getLong("simulator.latency", settings.latencyMillis);
+			settings.progressStep = Integer.getInteger("simulator.progressStep", settings.progressStep);
+			settings.pageSize = Integer.getInteger("simulator.pageSize", settings.pageSize);
+			settings.throttledPercent = Double.parseDouble(System.getProperty("simulator.throttled", String.valueOf(settings.throttledPercent)));
+			settings.unavailablePercent = Double.parseDouble(System.getProperty("simulator.unavailable", String.valueOf(settings.unavailablePercent)));
+			settings.freeTierLimit = Integer.getInteger("simulator.freeTierLimit", settings.freeTierLimit);
+			settings.seed = Long.getLong("simulator.seed", settings.seed);
+			return settings;
+		}
+
+		/**
+		 * Duration of the database creation.
+		 */
+		public Settings provisioning(long millis) {
+			this.provisioningMillis = millis;
+			return this;
+		}
+
+		public Settings start(long millis) {
+			this.startMillis = millis;
+			return this;
+		}
+
+		public Settings stop(long millis) {
+			this.stopMillis = millis;
+			return this;
+		}
+
+		public Settings terminate(long millis) {
+			this.terminateMillis = millis;
+			return this;
+		}
+
+		/**
+		 * Time the database takes to reach its new lifecycle state once its work request succeeded.
+		 */
+		public Settings lifecycleLag(long millis) {
+			this.lifecycleLagMillis = millis;
+			return this;
+		}
+
+		/**
+		 * Server side latency of every call.
+		 */
+		public Settings latency(long millis) {
+			this.latencyMillis = millis;
+			return this;
+		}
+
+		/**
+		 * Granularity of the percentComplete of the work requests.
+		 */
+		public Settings progressStep(int percent) {
+			this.progressStep = Math.max(1, percent);
+			return this;
+		}
+
+		/**
+		 * Maximum number of databases per page of a listing, whatever the limit asked.
+		 */
+		public Settings pageSize(int pageSize) {
+			this.pageSize = Math.max(1, pageSize);
+			return this;
+		}
+
+		/**
+		 * Share of the calls answered with 429.
+		 */
+		public Settings throttled(double percent) {
+			this.throttledPercent = percent;
+			return this;
+		}
+
+		/**
+		 * Share of the calls answered with 503.
+		 */
+		public Settings unavailable(double percent) {
+			this.unavailablePercent = percent;
+			return this;
+		}
+
+		/**
+		 * Number of Always Free databases the tenancy can hold.
+		 */
+		public Settings freeTierLimit(int freeTierLimit) {
+			this.freeTierLimit = freeTierLimit;
+			return this;
+		}
+
+		/**
+		 * Seed of the error injection, for reproducible runs.
+		 */
+		public Settings seed(long seed) {
+			this.seed = seed;
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("provisioning=%dms, start=%dms, stop=%dms, terminate=%dms, lifecycle lag=%dms, latency=%dms, progress step=%d%%, page size=%d, 429=%.1f%%, 503=%.1f%%",
+					provisioningMillis, startMillis, stopMillis, terminateMillis, lifecycleLagMillis, latencyMillis, progressStep, pageSize, throttledPercent, unavailablePercent);
+		}
+	}
+
+	private static final class Database {
+		final String id;
+		final String compartmentId;
+		final String displayName;
+		final String dbName;
+		final String dbVersion;
+		final String dbWorkload;
+		final boolean freeTier;
+		final boolean autoScaling;
+		final long timeCreated;
+		final Map<String, String> freeformTags = new LinkedHashMap<>();
+
+		String lifecycleState;
+		int version;
+
+		// state reached at the given time
+		String targetState;
+		long targetTime;
+
+		Database(String id, String compartmentId, String displayName, String dbName, String dbVersion, String dbWorkload,
+				 boolean freeTier, boolean autoScaling, String lifecycleState) {
+			this.id = id;
+			this.compartmentId = compartmentId;
+			this.displayName = displayName;
+			this.dbName = dbName;
+			this.dbVersion = dbVersion;
+			this.dbWorkload = dbWorkload;
+			this.freeTier = freeTier;
+			this.autoScaling = autoScaling;
+			this.timeCreated = System.currentTimeMillis();
+			this.lifecycleState = lifecycleState;
+		}
+
+		void transition(String transientState, String targetState, long completion) {
+			this.lifecycleState = transientState;
+			this.targetState = targetState;
+			this.targetTime = completion;
+			version++;
+		}
+
+		void settle(long now) {
+			if (targetState != null && now >= targetTime) {
+				lifecycleState = targetState;
+				targetState = null;
+				version++;
+			}
+		}
+
+		String etag() {
+			return Integer.toHexString(id.hashCode()) + "-" + version;
+		}
+	}
+
+	private record WorkRequest(String id, String operationType, String compartmentId, String databaseId, long accepted, long completion) {
+	}
+
+	private final Settings settings;
+	private final String sqlDevWebUrl;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Random random;
+
+	private final Map<String, Database> databases = new LinkedHashMap<>();
+	private final Map<String, WorkRequest> workRequests = new HashMap<>();
+	private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+	private int sequence;
+
+	/**
+	 * @param sqlDevWebUrl SQL Developer Web URL of the databases (e.g. an {@link ORDSStandIn})
+	 */
+	public OCISimulator(final Settings settings, final String sqlDevWebUrl) throws IOException {
+		this.settings = settings;
+		this.sqlDevWebUrl = sqlDevWebUrl;
+		this.random = new Random(settings.seed);
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		this.executor = Executors.newCachedThreadPool();
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	/**
+	 * @return the endpoint replacing the regional endpoints of all the OCI services
+	 */
+	public String getEndpoint() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	/**
+	 * @return the URL of the public IP service stand-in
+	 */
+	public String getIpServiceUrl() {
+		return getEndpoint() + "/ip";
+	}
+
+	/**
+	 * @return the number of calls by operation since the last reset (injected errors included, also counted under
+	 * "429" and "503")
+	 */
+	public Map<String, Long> getCalls() {
+		final Map<String, Long> snapshot = new TreeMap<>();
+		calls.forEach((operation, count) -> snapshot.put(operation, count.sum()));
+		return snapshot;
+	}
+
+	public void resetCalls() {
+		calls.clear();
+	}
+
+	/**
+	 * Adds terminated databases listed under this name, as OCI keeps listing them for a while: lookups have to page
+	 * through them.
+	 */
+	public synchronized void addTerminatedDatabases(String compartmentId, String dbName, int count) {
+		for (int i = 0; i < count; i++) {
+			final Database database = new Database(nextId("autonomousdatabase"), compartmentId, dbName + "_Database", dbName, "19c", "OLTP",
+					true, false, "TERMINATED");
+			databases.put(database.id, database);
+		}
+	}
+
+	/**
+	 * Changes the state of a database immediately (e.g. stopped since the last run).
+	 */
+	public synchronized void setLifecycleState(String dbName, String lifecycleState) {
+		for (Database database : databases.values()) {
+			database.settle(System.currentTimeMillis());
+			if (database.dbName.equals(dbName) && !"TERMINATED".equals(database.lifecycleState)) {
+				database.lifecycleState = lifecycleState;
+				database.targetState = null;
+				database.version++;
+			}
+		}
+	}
+
+	private void handle(final HttpExchange exchange) throws IOException {
+		try {
+			final byte[] requestBody;
+			try (InputStream in = exchange.getRequestBody()) {
+				requestBody = in.readAllBytes();
+			}
+
+			if (settings.latencyMillis > 0) {
+				try {
+					Thread.sleep(settings.latencyMillis);
+				}
+				catch (InterruptedException ignored) {
+				}
+			}
+
+			final String method = exchange.getRequestMethod();
+			final String[] path = exchange.getRequestURI().getPath().split("/");
+			final Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+			if (path.length == 2 && "ip".equals(path[1])) {
+				count("PublicIP");
+				sendText(exchange, INVOKER_IP_ADDRESS + "\n");
+				return;
+			}
+
+			final String operation = operation(method, path);
+			if (operation == null) {
+				sendError(exchange, 404, "NotAuthorizedOrNotFound", "Unknown resource " + exchange.getRequestURI().getPath());
+				return;
+			}
+			count(operation);
+
+			final double draw = nextPercent();
+			if (draw < settings.throttledPercent) {
+				count("429");
+				sendError(exchange, 429, "TooManyRequests", "Too many requests for the user");
+				return;
+			}
+			if (draw < settings.throttledPercent + settings.unavailablePercent) {
+				count("503");
+				sendError(exchange, 503, "ServiceUnavailable", "The service is currently unavailable");
+				return;
+			}
+
+			switch (operation) {
+				case "ListAutonomousDatabases" -> listDatabases(exchange, query);
+				case "CreateAutonomousDatabase" -> createDatabase(exchange, mapper.readTree(requestBody));
+				case "GetAutonomousDatabase" -> getDatabase(exchange, path[3]);
+				case "UpdateAutonomousDatabase" -> updateDatabase(exchange, path[3], mapper.readTree(requestBody));
+				case "DeleteAutonomousDatabase" -> changeState(exchange, path[3], "TERMINATING", "TERMINATED", settings.terminateMillis, "DELETE_AUTONOMOUS_DATABASE");
+				case "StartAutonomousDatabase" -> changeState(exchange, path[3], "STARTING", "AVAILABLE", settings.startMillis, "START_AUTONOMOUS_DATABASE");
+				case "StopAutonomousDatabase" -> changeState(exchange, path[3], "STOPPING", "STOPPED", settings.stopMillis, "STOP_AUTONOMOUS_DATABASE");
+				case "GetWorkRequest" -> getWorkRequest(exchange, path[3]);
+				case "ListWorkRequestErrors" -> send(exchange, 200, mapper.createArrayNode(), null);
+				case "GetResourceAvailability" -> getResourceAvailability(exchange, path[5]);
+				case "GetUser" -> getUser(exchange, path[3]);
+			}
+		}
+		catch (Exception e) {
+			sendError(exchange, 500, "InternalServerError", String.valueOf(e.getMessage()));
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * @return the name of the OCI SDK operation for this request, null if not simulated
+	 */
+	private static String operation(String method, String[] path) {
+		if (path.length == 3 && "autonomousDatabases".equals(path[2])) {
+			return "GET".equals(method) ? "ListAutonomousDatabases" : "POST".equals(method) ? "CreateAutonomousDatabase" : null;
+		}
+		if (path.length == 4 && "autonomousDatabases".equals(path[2])) {
+			return switch (method) {
+				case "GET" -> "GetAutonomousDatabase";
+				case "PUT" -> "UpdateAutonomousDatabase";
+				case "DELETE" -> "DeleteAutonomousDatabase";
+				default -> null;
+			};
+		}
+		if (path.length == 6 && "autonomousDatabases".equals(path[2]) && "actions".equals(path[4]) && "POST".equals(method)) {
+			return "start".equals(path[5]) ? "StartAutonomousDatabase" : "stop".equals(path[5]) ? "StopAutonomousDatabase" : null;
+		}
+		if (path.length == 4 && "workRequests".equals(path[2]) && "GET".equals(method)) {
+			return "GetWorkRequest";
+		}
+		if (path.length == 5 && "workRequests".equals(path[2]) && "errors".equals(path[4]) && "GET".equals(method)) {
+			return "ListWorkRequestErrors";
+		}
+		if (path.length == 7 && "services".equals(path[2]) && "limits".equals(path[4]) && "resourceAvailability".equals(path[6]) && "GET".equals(method)) {
+			return "GetResourceAvailability";
+		}
+		if (path.length == 4 && "users".equals(path[2]) && "GET".equals(method)) {
+			return "GetUser";
+		}
+		return null;
+	}
+
+	private synchronized void listDatabases(HttpExchange exchange, Map<String, String> query) throws IOException {
+		final long now = System.currentTimeMillis();
+		final List<Database> matching = new ArrayList<>();
+		for (Database database : databases.values()) {
+			database.settle(now);
+			if (matches(query.get("compartmentId"), database.compartmentId) && matches(query.get("displayName"), database.displayName) &&
+					matches(query.get("dbVersion"), database.dbVersion) && matches(query.get("dbWorkload"), database.dbWorkload) &&
+					matches(query.get("lifecycleState"), database.lifecycleState)) {
+				matching.add(database);
+			}
+		}
+
+		final Comparator<Database> byTimeCreated = Comparator.comparingLong(d -> d.timeCreated);
+		matching.sort("DESC".equals(query.get("sortOrder")) ? byTimeCreated.reversed() : byTimeCreated);
+
+		final int offset = query.containsKey("page") ? Integer.parseInt(query.get("page")) : 0;
+		final int limit = Math.min(settings.pageSize, query.containsKey("limit") ? Integer.parseInt(query.get("limit")) : settings.pageSize);
+		final int end = Math.min(matching.size(), offset + limit);
+
+		final ArrayNode items = mapper.createArrayNode();
+		for (Database database : matching.subList(Math.min(offset, end), end)) {
+			items.add(toJSON(database));
+		}
+
+		send(exchange, 200, items, end < matching.size() ? Map.of("opc-next-page", String.valueOf(end)) : null);
+	}
+
+	private synchronized void createDatabase(HttpExchange exchange, JsonNode details) throws IOException {
+		final String dbName = details.path("dbName").asText();
+		final boolean freeTier = details.path("isFreeTier").asBoolean(false);
+		final long now = System.currentTimeMillis();
+
+		int freeDatabases = 0;
+		for (Database database : databases.values()) {
+			database.settle(now);
+			if ("TERMINATED".equals(database.lifecycleState)) {
+				continue;
+			}
+			if (database.dbName.equalsIgnoreCase(dbName)) {
+				sendError(exchange, 400, "InvalidParameter", "An Autonomous Database with the name " + dbName + " already exists in this tenancy.");
+				return;
+			}
+			if (database.freeTier) {
+				freeDatabases++;
+			}
+		}
+
+		if (freeTier && freeDatabases >= settings.freeTierLimit) {
+			sendError(exchange, 400, "LimitExceeded", "Tenancy has reached maximum limit for Free Tier Autonomous Database: " + settings.freeTierLimit);
+			return;
+		}
+
+		final Database database = new Database(nextId("autonomousdatabase"), details.path("compartmentId").asText(), details.path("displayName").asText(dbName + "_Database"),
+				dbName, details.path("dbVersion").asText("19c"), details.path("dbWorkload").asText("OLTP"), freeTier, details.path("isAutoScalingEnabled").asBoolean(false),
+				"PROVISIONING");
+		details.path("freeformTags").fields().forEachRemaining(tag -> database.freeformTags.put(tag.getKey(), tag.getValue().asText()));
+		databases.put(database.id, database);
+
+		final WorkRequest workRequest = newWorkRequest("CREATE_AUTONOMOUS_DATABASE", database, settings.provisioningMillis);
+		database.transition("PROVISIONING", "AVAILABLE", workRequest.completion() + settings.lifecycleLagMillis);
+
+		send(exchange, 200, toJSON(database), Map.of("opc-work-request-id", workRequest.id(), "etag", database.etag()));
+	}
+
+	private synchronized void getDatabase(HttpExchange exchange, String id) throws IOException {
+		final Database database = databases.get(id);
+		if (database == null) {
+			sendError(exchange, 404, "NotAuthorizedOrNotFound", "Autonomous Database " + id + " not found");
+			return;
+		}
+
+		database.settle(System.currentTimeMillis());
+		send(exchange, 200, toJSON(database), Map.of("etag", database.etag()));
+	}
+
+	private synchronized void updateDatabase(HttpExchange exchange, String id, JsonNode details) throws IOException {
+		final Database database = databases.get(id);
+		if (database == null) {
+			sendError(exchange, 404, "NotAuthorizedOrNotFound", "Autonomous Database " + id + " not found");
+			return;
+		}
+
+		database.settle(System.currentTimeMillis());
+		final String ifMatch = exchange.getRequestHeaders().getFirst("if-match");
+		if (ifMatch != null && !ifMatch.equals(database.etag())) {
+			sendError(exchange, 412, "NoEtagMatch", "The resource has been modified since " + ifMatch);
+			return;
+		}
+
+		if (details.has("freeformTags")) {
+			database.freeformTags.clear();
+			details.path("freeformTags").fields().forEachRemaining(tag -> database.freeformTags.put(tag.getKey(), tag.getValue().asText()));
+		}
+		database.version++;
+
+		final WorkRequest workRequest = newWorkRequest("UPDATE_AUTONOMOUS_DATABASE", database, 0L);
+		send(exchange, 200, toJSON(database), Map.of("opc-work-request-id", workRequest.id(), "etag", database.etag()));
+	}
+
+	private synchronized void changeState(HttpExchange exchange, String id, String transientState, String targetState, long duration, String operationType) throws IOException {
+		final Database database = databases.get(id);
+		if (database == null) {
+			sendError(exchange, 404, "NotAuthorizedOrNotFound", "Autonomous Database " + id + " not found");
+			return;
+		}
+
+		database.settle(System.currentTimeMillis());
+		final String ifMatch = exchange.getRequestHeaders().getFirst("if-match");
+		if (ifMatch != null && !ifMatch.equals(database.etag())) {
+			sendError(exchange, 412, "NoEtagMatch", "The resource has been modified since " + ifMatch);
+			return;
+		}
+		if (database.targetState != null || "TERMINATED".equals(database.lifecycleState)) {
+			sendError(exchange, 409, "IncorrectState", "Autonomous Database " + id + " is " + database.lifecycleState);
+			return;
+		}
+
+		final WorkRequest workRequest = newWorkRequest(operationType, database, duration);
+		database.transition(transientState, targetState, workRequest.completion() + settings.lifecycleLagMillis);
+
+		final Map<String, String> headers = Map.of("opc-work-request-id", workRequest.id(), "etag", database.etag());
+		if ("DELETE_AUTONOMOUS_DATABASE".equals(operationType)) {
+			send(exchange, 204, null, headers);
+		}
+		else {
+			send(exchange, 200, toJSON(database), headers);
+		}
+	}
+
+	private synchronized void getWorkRequest(HttpExchange exchange, String id) throws IOException {
+		final WorkRequest workRequest = workRequests.get(id);
+		if (workRequest == null) {
+			sendError(exchange, 404, "NotAuthorizedOrNotFound", "Work request " + id + " not found");
+			return;
+		}
+
+		final long now = System.currentTimeMillis();
+		final long duration = workRequest.completion() - workRequest.accepted();
+		// queued for the first tenth of the operation
+		final long started = workRequest.accepted() + duration / 10L;
+
+		final ObjectNode json = mapper.createObjectNode()
+				.put("id", workRequest.id())
+				.put("operationType", workRequest.operationType())
+				.put("compartmentId", workRequest.compartmentId())
+				.put("timeAccepted", RFC3339.format(Instant.ofEpochMilli(workRequest.accepted())));
+
+		if (now >= workRequest.completion()) {
+			json.put("status", "SUCCEEDED")
+					.put("percentComplete", 100f)
+					.put("timeStarted", RFC3339.format(Instant.ofEpochMilli(started)))
+					.put("timeFinished", RFC3339.format(Instant.ofEpochMilli(workRequest.completion())));
+		}
+		else if (now < started) {
+			json.put("status", "ACCEPTED")
+					.put("percentComplete", 0f);
+		}
+		else {
+			final int progress = (int) (100L * (now - workRequest.accepted()) / duration);
+			json.put("status", "IN_PROGRESS")
+					.put("percentComplete", (float) (progress / settings.progressStep * settings.progressStep))
+					.put("timeStarted", RFC3339.format(Instant.ofEpochMilli(started)));
+		}
+
+		json.putArray("resources").addObject()
+				.put("entityType", "AutonomousDatabase")
+				.put("actionType", now < workRequest.completion() ? "IN_PROGRESS" :
+						workRequest.operationType().startsWith("CREATE") ? "CREATED" : workRequest.operationType().startsWith("DELETE") ? "DELETED" : "UPDATED")
+				.put("identifier", workRequest.databaseId());
+
+		send(exchange, 200, json, null);
+	}
+
+	/**
+	 * Only the free tier count is limited, the CPU and storage limits of paid databases are far from reached.
+	 */
+	private synchronized void getResourceAvailability(HttpExchange exchange, String limitName) throws IOException {
+		if (!"adb-free-count".equals(limitName)) {
+			send(exchange, 200, mapper.createObjectNode()
+					.put("used", 0L)
+					.put("available", 1000L), null);
+			return;
+		}
+
+		final long now = System.currentTimeMillis();
+		long used = 0L;
+		for (Database database : databases.values()) {
+			database.settle(now);
+			if (database.freeTier && !"TERMINATED".equals(database.lifecycleState)) {
+				used++;
+			}
+		}
+
+		send(exchange, 200, mapper.createObjectNode()
+				.put("used", used)
+				.put("available", Math.max(0L, settings.freeTierLimit - used)), null);
+	}
+
+	private void getUser(HttpExchange exchange, String id) throws IOException {
+		send(exchange, 200, mapper.createObjectNode()
+				.put("id", id)
+				.put("compartmentId", "ocid1.tenancy.oc1..simulated")
+				.put("name", "dragonlite")
+				.put("description", "simulated user")
+				.put("email", "dragonlite@example.com")
+				.put("timeCreated", RFC3339.format(Instant.EPOCH))
+				.put("lifecycleState", "ACTIVE"), null);
+	}
+
+	private WorkRequest newWorkRequest(String operationType, Database database, long duration) {
+		final long now = System.currentTimeMillis();
+		final WorkRequest workRequest = new WorkRequest(nextId("workrequest"), operationType, database.compartmentId, database.id, now, now + duration);
+		workRequests.put(workRequest.id(), workRequest);
+		return workRequest;
+	}
+
+	private ObjectNode toJSON(Database database) {
+		final ObjectNode json = mapper.createObjectNode()
+				.put("id", database.id)
+				.put("compartmentId", database.compartmentId)
+				.put("lifecycleState", database.lifecycleState)
+				.put("dbName", database.dbName)
+				.put("displayName", database.displayName)
+				.put("dbVersion", database.dbVersion)
+				.put("dbWorkload", database.dbWorkload)
+				.put("isFreeTier", database.freeTier)
+				.put("cpuCoreCount", 1)
+				.put("dataStorageSizeInTBs", 1)
+				.put("isAutoScalingEnabled", database.autoScaling)
+				.put("isAutoScalingForStorageEnabled", false)
+				.put("licenseModel", "LICENSE_INCLUDED")
+				.put("timeCreated", RFC3339.format(Instant.ofEpochMilli(database.timeCreated)))
+				.put("serviceConsoleUrl", sqlDevWebUrl);
+
+		final ObjectNode tags = json.putObject("freeformTags");
+		database.freeformTags.forEach(tags::put);
+
+		json.putObject("connectionUrls")
+				.put("sqlDevWebUrl", sqlDevWebUrl)
+				.put("apexUrl", sqlDevWebUrl)
+				.put("machineLearningUserManagementUrl", sqlDevWebUrl)
+				.put("graphStudioUrl", sqlDevWebUrl);
+
+		final ObjectNode connectionStrings = json.putObject("connectionStrings");
+		final ObjectNode all = connectionStrings.putObject("allConnectionStrings");
+		final ArrayNode profiles = connectionStrings.putArray("profiles");
+		for (String consumerGroup : new String[]{"LOW", "MEDIUM", "HIGH"}) {
+			final String service = database.dbName.toLowerCase() + "_" + consumerGroup.toLowerCase();
+			final String value = "(description=(address=(protocol=tcps)(port=1521)(host=adb.simulated.oraclecloud.com))(connect_data=(service_name="
+					+ service + ".adb.oraclecloud.com))(security=(ssl_server_dn_match=yes)))";
+			connectionStrings.put(consumerGroup.toLowerCase(), value);
+			all.put(consumerGroup, value);
+			profiles.addObject()
+					.put("displayName", service)
+					.put("value", value)
+					.put("consumerGroup", consumerGroup)
+					.put("protocol", "TCPS")
+					.put("tlsAuthentication", "SERVER")
+					.put("hostFormat", "FQDN")
+					.put("sessionMode", "DIRECT")
+					.put("syntaxFormat", "LONG");
+		}
+
+		return json;
+	}
+
+	private static boolean matches(String filter, String value) {
+		return filter == null || filter.equals(value);
+	}
+
+	private static Map<String, String> parseQuery(String rawQuery) {
+		final Map<String, String> query = new HashMap<>();
+		if (rawQuery != null) {
+			for (String parameter : rawQuery.split("&")) {
+				final int equal = parameter.indexOf('=');
+				if (equal > 0) {
+					query.put(URLDecoder.decode(parameter.substring(0, equal), StandardCharsets.UTF_8),
+							URLDecoder.decode(parameter.substring(equal + 1), StandardCharsets.UTF_8));
+				}
+			}
+		}
+		return query;
+	}
+
+	private synchronized double nextPercent() {
+		return random.nextDouble() * 100d;
+	}
+
+	private synchronized String nextId(String resourceType) {
+		return String.format("ocid1.%s.oc1.simulated.%08d", resourceType, ++sequence);
+	}
+
+	private void count(String operation) {
+		calls.computeIfAbsent(operation, o -> new LongAdder()).increment();
+	}
+
+	private static void sendError(HttpExchange exchange, int status, String code, String message) throws IOException {
+		send(exchange, status, mapper.createObjectNode().put("code", code).put("message", message), null);
+	}
+
+	private static void send(HttpExchange exchange, int status, JsonNode json, Map<String, String> headers) throws IOException {
+		exchange.getResponseHeaders().add("opc-request-id", Long.toHexString(System.nanoTime()));
+		if (headers != null) {
+			headers.forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+		}
+
+		if (json == null) {
+			exchange.sendResponseHeaders(status, -1);
+			return;
+		}
+
+		final byte[] body = mapper.writeValueAsBytes(json);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private static void sendText(HttpExchange exchange, String text) throws IOException {
+		final byte[] body = text.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "text/plain");
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,93 @@
+package com.oracle.dragonlite.benchmarks;
+
+import com.oracle.dragonlite.rest.ADBRESTService;
+import com.oracle.dragonlite.rest.ORDSClientPool;
+
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Compares the per-statement latency of a new HttpClient per request (previous ADBRESTService behavior)
+ * against the pooled client now used by ADBRESTService, both running against a local ORDS stand-in.
+ * <p>
+ * Arguments: [statements (default 500)] [server latency in ms (default 0)]
+ */
+public class ORDSClientLatency {
+	private static final String STATEMENT = "SELECT 1 FROM DUAL";
+
+	public static void main(String[] args) throws Exception {
+		final int statements = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		final long serverLatency = args.length > 1 ? Long.parseLong(args[1]) : 0L;
+
+		try (ORDSStandIn ords = new ORDSStandIn(serverLatency)) {
+			final ADBRESTService service = new ADBRESTService(ords.getSqlDevWebUrl(), "ADMIN", "password");
+
+			// warm up both paths (class loading, JIT)
+			for (int i = 0; i < 50; i++) {
+				newClientPerRequest(service);
+				service.execute(STATEMENT, 1);
+			}
+
+			final long[] before = new long[statements];
+			for (int i = 0; i < statements; i++) {
+				final long start = System.nanoTime();
+				newClientPerRequest(service);
+				before[i] = System.nanoTime() - start;
+			}
+
+			final long[] after = new long[statements];
+			for (int i = 0; i < statements; i++) {
+				final long start = System.nanoTime();
+				service.execute(STATEMENT, 1);
+				after[i] = System.nanoTime() - start;
+			}
+
+			System.out.printf("%d statements, server latency %d ms%n", statements, serverLatency);
+			report("new HttpClient per request", before);
+			report("pooled HttpClient", after);
+		}
+		finally {
+			ORDSClientPool.closeAll();
+		}
+	}
+
+	private static void newClientPerRequest(final ADBRESTService service) throws Exception {
+		final HttpRequest request = HttpRequest.newBuilder()
+				.uri(new URI(service.getUrlSQLService()))
+				.headers("Content-Type", "application/sql",
+						"Authorization", "Basic " + Base64.getEncoder().encodeToString("ADMIN:password".getBytes()),
+						"Pragma", "no-cache",
+						"Cache-Control", "no-store")
+				.POST(HttpRequest.BodyPublishers.ofString(STATEMENT))
+				.build();
+
+		final HttpResponse<String> response = HttpClient
+				.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.proxy(ProxySelector.getDefault())
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.build()
+				.send(request, HttpResponse.BodyHandlers.ofString());
+
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Unexpected status " + response.statusCode());
+		}
+	}
+
+	private static void report(final String label, final long[] latencies) {
+		final long[] sorted = latencies.clone();
+		Arrays.sort(sorted);
+		final double avg = Arrays.stream(sorted).average().orElse(0d);
+		System.out.printf("%-28s avg %8.3f ms  p50 %8.3f ms  p95 %8.3f ms  p99 %8.3f ms%n", label,
+				avg / 1e6, percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.95) / 1e6, percentile(sorted, 0.99) / 1e6);
+	}
+
+	private static double percentile(final long[] sorted, final double p) {
+		return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+	}
+}
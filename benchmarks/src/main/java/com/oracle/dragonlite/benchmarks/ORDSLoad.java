@@ -0,0 +1,128 @@
+package com.oracle.dragonlite.benchmarks;
+
+import com.oracle.dragonlite.metrics.Metrics;
+import com.oracle.dragonlite.rest.ADBRESTService;
+import com.oracle.dragonlite.rest.ORDSClientPool;
+import com.oracle.dragonlite.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load driver of ADBRESTService: many threads executing statements against one ORDS URL served by the
+ * {@link ORDSStandIn}, reporting throughput and latency percentiles (retries included in the latency).
+ * <p>
+ * Arguments: [mode: sync, stream or async (default sync)] [threads, or in-flight statements in async mode (default 16)]
+ * [duration in seconds (default 30)] [tries per statement (default 30)]<br>
+ * Stand-in knobs are read from the <code>ords.*</code> system properties (see {@link ORDSStandIn.Settings}), e.g.
+ * -Dords.latency=20 -Dords.rows=1000 -Dords.stormPeriod=10000 -Dords.stormDuration=2000
+ */
+public class ORDSLoad {
+	private static final String STATEMENT = "SELECT 1 FROM DUAL";
+
+	public static void main(String[] args) throws Exception {
+		final String mode = args.length > 0 ? args[0] : "sync";
+		final int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+		final long duration = (args.length > 2 ? Long.parseLong(args[2]) : 30L) * 1000L;
+		final int tries = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+		final ORDSStandIn.Settings settings = ORDSStandIn.Settings.fromSystemProperties();
+		try (ORDSStandIn ords = new ORDSStandIn(settings)) {
+			final ADBRESTService service = new ADBRESTService(ords.getSqlDevWebUrl(), "ADMIN", "password", concurrency);
+
+			// warm up (class loading, JIT, connections)
+			run(service, mode, concurrency, Math.min(5000L, duration / 5L), tries, new LatencyHistogram(), new LongAdder());
+
+			final long requestsBefore = ords.getRequests();
+			final long errorsBefore = ords.getErrors();
+			final long retriesBefore = Metrics.counter("ords_retries_total").sum();
+			final long retryAftersBefore = Metrics.counter("ords_retry_after_total").sum();
+			final LatencyHistogram latencies = new LatencyHistogram();
+			final LongAdder failures = new LongAdder();
+
+			final long startTime = System.nanoTime();
+			run(service, mode, concurrency, duration, tries, latencies, failures);
+			final double elapsed = (System.nanoTime() - startTime) / 1e9d;
+
+			System.out.printf("%s, %d %s, %.1fs, response %d bytes, %s%n", mode, concurrency, "async".equals(mode) ? "in flight" : "threads",
+					elapsed, ords.getResponseSize(), settings);
+			System.out.printf("throughput %10.1f statements/s  (%d ok, %d failed)%n", latencies.getCount() / elapsed, latencies.getCount(), failures.sum());
+			System.out.printf("requests   %10d  (%d answered 503)%n", ords.getRequests() - requestsBefore, ords.getErrors() - errorsBefore);
+			System.out.printf("latency    p50 %8.3f ms  p90 %8.3f ms  p99 %8.3f ms  p99.9 %8.3f ms  max %8.3f ms%n",
+					latencies.getPercentileMicros(50d) / 1e3, latencies.getPercentileMicros(90d) / 1e3, latencies.getPercentileMicros(99d) / 1e3,
+					latencies.getPercentileMicros(99.9d) / 1e3, latencies.getMaxMicros() / 1e3);
+			System.out.printf("retries    %10d  (%d after Retry-After)%n", Metrics.counter("ords_retries_total").sum() - retriesBefore,
+					Metrics.counter("ords_retry_after_total").sum() - retryAftersBefore);
+		}
+		finally {
+			ORDSClientPool.closeAll();
+		}
+	}
+
+	private static void run(ADBRESTService service, String mode, int concurrency, long duration, int tries,
+							LatencyHistogram latencies, LongAdder failures) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + duration;
+
+		if ("async".equals(mode)) {
+			// keeps <concurrency> statements in flight from a single thread
+			final Semaphore inFlight = new Semaphore(concurrency);
+			while (System.currentTimeMillis() < deadline) {
+				inFlight.acquire();
+				final long start = System.nanoTime();
+				service.executeAsync(STATEMENT, tries).whenComplete((body, throwable) -> {
+					record(latencies, failures, start, throwable == null);
+					inFlight.release();
+				});
+			}
+			inFlight.acquire(concurrency);
+			return;
+		}
+
+		final boolean stream = "stream".equals(mode);
+		final CountDownLatch done = new CountDownLatch(concurrency);
+		final List<Thread> threads = new ArrayList<>(concurrency);
+		for (int i = 0; i < concurrency; i++) {
+			final Thread thread = new Thread(() -> {
+				try {
+					while (System.currentTimeMillis() < deadline) {
+						final long start = System.nanoTime();
+						boolean success = true;
+						try {
+							if (stream) {
+								service.execute(STATEMENT, tries, (statementId, row) -> {
+								});
+							}
+							else {
+								service.execute(STATEMENT, tries);
+							}
+						}
+						catch (RuntimeException e) {
+							success = false;
+						}
+						record(latencies, failures, start, success);
+					}
+				}
+				finally {
+					done.countDown();
+				}
+			}, "Load-" + i);
+			thread.setDaemon(true);
+			threads.add(thread);
+		}
+
+		threads.forEach(Thread::start);
+		done.await();
+	}
+
+	private static void record(LatencyHistogram latencies, LongAdder failures, long start, boolean success) {
+		if (success) {
+			latencies.recordSince(start);
+		}
+		else {
+			failures.increment();
+		}
+	}
+}
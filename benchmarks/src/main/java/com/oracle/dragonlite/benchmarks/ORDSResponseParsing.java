@@ -0,0 +1,81 @@
+package com.oracle.dragonlite.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.dragonlite.rest.ORDSResponseParser;
+import com.oracle.dragonlite.rest.ORDSSQLServiceResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization of REST-enabled SQL service responses into ORDSSQLServiceResponse, with the rows either skipped or
+ * handed to a row handler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ORDSResponseParsing {
+	private static final String STATEMENT_ITEM = """
+			{"statementId":%d,"statementType":"ddl","statementPos":{"startLine":%d,"endLine":%d},\
+			"statementText":"CREATE USER DL%d IDENTIFIED BY \\"Password_12345\\"","response":["\\nUser DL%d created.\\n\\n"],"result":0}""";
+
+	/**
+	 * Number of rows of the query result set.
+	 */
+	@Param({"1", "1000"})
+	public int rows;
+
+	private ORDSResponseParser parser;
+	private String queryResponse;
+	private String batchResponse;
+
+	@Setup
+	public void setup() {
+		parser = new ORDSResponseParser(new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+
+		final StringBuilder query = new StringBuilder("""
+				{"env":{"defaultTimeZone":"UTC"},"items":[{"statementId":1,"statementType":"query",\
+				"statementPos":{"startLine":1,"endLine":1},"statementText":"SELECT username, created FROM all_users","response":[],"result":0,\
+				"resultSet":{"metadata":[{"columnName":"USERNAME","jsonColumnName":"username","columnTypeName":"VARCHAR2","precision":128,"scale":0,"isNullable":0},\
+				{"columnName":"CREATED","jsonColumnName":"created","columnTypeName":"DATE","precision":0,"scale":0,"isNullable":0}],"items":[""");
+		for (int i = 0; i < rows; i++) {
+			if (i > 0) {
+				query.append(',');
+			}
+			query.append("{\"username\":\"USER").append(i).append("\",\"created\":\"2023-01-01T00:00:00Z\"}");
+		}
+		query.append("],\"hasMore\":false,\"limit\":10000,\"offset\":0,\"count\":").append(rows).append("}}]}");
+		queryResponse = query.toString();
+
+		// the same number of statements in one batch (DDL: no result set)
+		final StringBuilder batch = new StringBuilder("{\"env\":{\"defaultTimeZone\":\"UTC\"},\"items\":[");
+		for (int i = 1; i <= rows; i++) {
+			if (i > 1) {
+				batch.append(',');
+			}
+			batch.append(String.format(STATEMENT_ITEM, i, i, i, i, i));
+		}
+		batchResponse = batch.append("]}").toString();
+	}
+
+	@Benchmark
+	public ORDSSQLServiceResponse querySkippingRows() throws IOException {
+		return parser.parse(queryResponse, null);
+	}
+
+	@Benchmark
+	public ORDSSQLServiceResponse queryWithRowHandler(final Blackhole blackhole) throws IOException {
+		return parser.parse(queryResponse, (statementId, row) -> blackhole.consume(row));
+	}
+
+	@Benchmark
+	public ORDSSQLServiceResponse batch() throws IOException {
+		return parser.parse(batchResponse, null);
+	}
+}
@@ -0,0 +1,225 @@
+package com.oracle.dragonlite.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for the ORDS REST-enabled SQL service (POST /ords/&lt;user&gt;/_/sql).
+ * <p>
+ * Every statement succeeds and returns a result set of the configured number of rows after the configured latency.
+ * A share of the requests can be made slow or answered with 503 and a Retry-After header, either at random or
+ * during periodic storms where every request fails.
+ */
+public class ORDSStandIn implements AutoCloseable {
+	private static final String HEADER = """
+			{"env":{"defaultTimeZone":"UTC"},"items":[{"statementId":1,"statementType":"query",\
+			"statementPos":{"startLine":1,"endLine":1},"statementText":"SELECT 1 FROM DUAL","response":[],"result":0,\
+			"resultSet":{"metadata":[{"columnName":"1","jsonColumnName":"1","columnTypeName":"NUMBER","precision":0,"scale":-127,"isNullable":1},\
+			{"columnName":"PAYLOAD","jsonColumnName":"payload","columnTypeName":"VARCHAR2","precision":4000,"scale":0,"isNullable":1}],\
+			"items":[""";
+
+	private static final String ROW = "{\"1\":%d,\"payload\":\"Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt\"}";
+
+	private static final String FOOTER = "],\"hasMore\":false,\"limit\":10000,\"offset\":0,\"count\":%d}}]}";
+
+	/**
+	 * Knobs of the stand-in, also readable from <code>ords.*</code> system properties.
+	 */
+	public static final class Settings {
+		private long latencyMillis;
+		private double slowPercent;
+		private long slowLatencyMillis = 2_000L;
+		private double errorPercent;
+		private long stormPeriodMillis;
+		private long stormDurationMillis;
+		private int retryAfterSeconds = 1;
+		private int rows = 1;
+
+		public static Settings fromSystemProperties() {
+			final Settings settings = new Settings();
+			settings.latencyMillis = Long.getLong("ords.latency", settings.latencyMillis);
+			settings.slowPercent = Double.parseDouble(System.getProperty("ords.slow", String.valueOf(settings.slowPercent)));
+			settings.slowLatencyMillis = Long.getLong("ords.slowLatency", settings.slowLatencyMillis);
+			settings.errorPercent = Double.parseDouble(System.getProperty("ords.errors", String.valueOf(settings.errorPercent)));
+			settings.stormPeriodMillis = Long.getLong("ords.stormPeriod", settings.stormPeriodMillis);
+			settings.stormDurationMillis = Long.getLong("ords.stormDuration", settings.stormDurationMillis);
+			settings.retryAfterSeconds = Integer.getInteger("ords.retryAfter", settings.retryAfterSeconds);
+			settings.rows = Integer.getInteger("ords.rows", settings.rows);
+			return settings;
+		}
+
+		/**
+		 * Time taken by every request.
+		 */
+		public Settings latency(long millis) {
+			this.latencyMillis = millis;
+			return this;
+		}
+
+		/**
+		 * Share of the requests taking <code>slowLatencyMillis</code> instead.
+		 */
+		public Settings slow(double percent, long slowLatencyMillis) {
+			this.slowPercent = percent;
+			this.slowLatencyMillis = slowLatencyMillis;
+			return this;
+		}
+
+		/**
+		 * Share of the requests answered with 503.
+		 */
+		public Settings errors(double percent) {
+			this.errorPercent = percent;
+			return this;
+		}
+
+		/**
+		 * Every <code>periodMillis</code>, all the requests are answered with 503 for <code>durationMillis</code>.
+		 */
+		public Settings storms(long periodMillis, long durationMillis) {
+			this.stormPeriodMillis = periodMillis;
+			this.stormDurationMillis = durationMillis;
+			return this;
+		}
+
+		/**
+		 * Retry-After header of the 503 responses, none if negative.
+		 */
+		public Settings retryAfter(int seconds) {
+			this.retryAfterSeconds = seconds;
+			return this;
+		}
+
+		/**
+		 * Number of rows of the result set (about 100 bytes each).
+		 */
+		public Settings rows(int rows) {
+			this.rows = Math.max(0, rows);
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("latency=%dms, slow=%.1f%% (%dms), 503=%.1f%%, storms=%dms every %dms, Retry-After=%ds, rows=%d",
+					latencyMillis, slowPercent, slowLatencyMillis, errorPercent, stormDurationMillis, stormPeriodMillis, retryAfterSeconds, rows);
+		}
+	}
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Settings settings;
+	private final byte[] response;
+	private final long startTime = System.currentTimeMillis();
+
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+
+	public ORDSStandIn(final long latencyMillis) throws IOException {
+		this(new Settings().latency(latencyMillis));
+	}
+
+	public ORDSStandIn(final Settings settings) throws IOException {
+		this.settings = settings;
+		this.response = generateResponse(settings.rows);
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+		this.executor = Executors.newCachedThreadPool();
+		server.createContext("/ords/", this::handle);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	/**
+	 * @return the URL to give to {@link com.oracle.dragonlite.rest.ADBRESTService} as SQL Developer Web URL
+	 */
+	public String getSqlDevWebUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + "/ords/admin/_sdw/";
+	}
+
+	/**
+	 * @return the number of requests received, retries included
+	 */
+	public long getRequests() {
+		return requests.sum();
+	}
+
+	/**
+	 * @return the number of requests answered with 503
+	 */
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	/**
+	 * @return the size of the successful responses in bytes
+	 */
+	public int getResponseSize() {
+		return response.length;
+	}
+
+	private void handle(final HttpExchange exchange) throws IOException {
+		requests.increment();
+		try (InputStream in = exchange.getRequestBody()) {
+			in.readAllBytes();
+		}
+
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final long latency = random.nextDouble(100d) < settings.slowPercent ? settings.slowLatencyMillis : settings.latencyMillis;
+		if (latency > 0) {
+			try {
+				Thread.sleep(latency);
+			}
+			catch (InterruptedException ignored) {
+			}
+		}
+
+		if (inStorm() || random.nextDouble(100d) < settings.errorPercent) {
+			errors.increment();
+			if (settings.retryAfterSeconds >= 0) {
+				exchange.getResponseHeaders().add("Retry-After", String.valueOf(settings.retryAfterSeconds));
+			}
+			exchange.sendResponseHeaders(503, -1);
+			exchange.close();
+			return;
+		}
+
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, response.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(response);
+		}
+	}
+
+	private boolean inStorm() {
+		return settings.stormPeriodMillis > 0 && (System.currentTimeMillis() - startTime) % settings.stormPeriodMillis >= settings.stormPeriodMillis - settings.stormDurationMillis;
+	}
+
+	private static byte[] generateResponse(final int rows) {
+		final StringBuilder body = new StringBuilder(HEADER.length() + rows * (ROW.length() + 8) + FOOTER.length());
+		body.append(HEADER);
+		for (int i = 0; i < rows; i++) {
+			if (i > 0) {
+				body.append(',');
+			}
+			body.append(String.format(ROW, i + 1));
+		}
+		body.append(String.format(FOOTER, rows));
+		return body.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,122 @@
+package com.oracle.dragonlite.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.dragonlite.oci.OCIClients;
+import com.oracle.dragonlite.util.PublicIPv4Retriever;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from exec to the first OCI request of dragonlite: launches the given command (native image or JVM) several
+ * times against the local OCI simulator, stops it once the simulator got its first call, and reads the
+ * <code>startup_first_oci_request_seconds</code> timer from the metrics.json it writes when stopping.
+ * <p>
+ * Arguments: runs command...<br>
+ * e.g. <code>10 ../target/dragonlite-linux-x86_64</code> or <code>10 java -jar ../target/dragonlite-1.0.0-jar-with-dependencies.jar</code><br>
+ * The dragonlite system properties are inserted after the first token of the command. With
+ * <code>-Dstartup.budget=&lt;milliseconds&gt;</code>, exits with status 1 if the median exceeds it (regression check).
+ * The default.iprof written by a PGO-instrumented image is copied to the current directory.
+ */
+public class StartupBenchmark {
+	private static final long RUN_TIMEOUT = 60_000L;
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("Usage: StartupBenchmark <runs> <command>...");
+			System.exit(2);
+		}
+
+		final int runs = Integer.parseInt(args[0]);
+		final List<String> command = Arrays.asList(args).subList(1, args.length);
+		final long budget = Long.getLong("startup.budget", 0L);
+
+		final ObjectMapper mapper = new ObjectMapper();
+		final long[] startupTimes = new long[runs];
+
+		try (ORDSStandIn ords = new ORDSStandIn(0L);
+			 OCISimulator simulator = new OCISimulator(new OCISimulator.Settings(), ords.getSqlDevWebUrl())) {
+			for (int run = 0; run < runs; run++) {
+				final File workingDirectory = Files.createTempDirectory("dragonlite-startup").toFile();
+				try {
+					ProvisioningBenchmark.writeConfiguration(workingDirectory);
+					simulator.resetCalls();
+
+					final Process process = new ProcessBuilder(command(command, workingDirectory, simulator))
+							.directory(workingDirectory)
+							.redirectErrorStream(true)
+							.redirectOutput(new File(workingDirectory, "output.txt"))
+							.start();
+
+					waitForFirstCall(simulator, process);
+					process.destroy();
+					if (!process.waitFor(RUN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+						process.destroyForcibly();
+						throw new IllegalStateException("dragonlite didn't stop, see " + new File(workingDirectory, "output.txt"));
+					}
+
+					final JsonNode timer = mapper.readTree(new File(workingDirectory, "metrics.json")).path("timers").path("startup_first_oci_request_seconds");
+					if (timer.isMissingNode()) {
+						throw new IllegalStateException("No startup_first_oci_request_seconds timer in metrics.json");
+					}
+					startupTimes[run] = timer.path("maxMillis").asLong();
+					System.out.printf("run %2d: %6d ms%n", run + 1, startupTimes[run]);
+
+					final File profile = new File(workingDirectory, "default.iprof");
+					if (profile.exists()) {
+						Files.copy(profile.toPath(), new File("default.iprof").toPath(), StandardCopyOption.REPLACE_EXISTING);
+					}
+				}
+				finally {
+					for (File file : workingDirectory.listFiles()) {
+						file.delete();
+					}
+					workingDirectory.delete();
+				}
+			}
+		}
+
+		Arrays.sort(startupTimes);
+		final long median = startupTimes[runs / 2];
+		System.out.printf("exec to first OCI request: min %d ms, median %d ms, max %d ms (%d runs) %s%n", startupTimes[0], median,
+				startupTimes[runs - 1], runs, command);
+
+		if (budget > 0 && median > budget) {
+			System.out.printf("median above the budget of %d ms%n", budget);
+			System.exit(1);
+		}
+	}
+
+	private static List<String> command(List<String> command, File workingDirectory, OCISimulator simulator) {
+		final List<String> result = new ArrayList<>(command.size() + 8);
+		result.add(command.get(0));
+		result.add("-Ddragonlite.workingDirectory=" + workingDirectory.getAbsolutePath());
+		result.add("-D" + OCIClients.ENDPOINT_PROPERTY + "=" + simulator.getEndpoint());
+		result.add("-D" + PublicIPv4Retriever.SERVICES_PROPERTY + "=" + simulator.getIpServiceUrl());
+		result.addAll(command.subList(1, command.size()));
+		result.addAll(List.of("-d", "STARTUP", "-hp", "0"));
+		return result;
+	}
+
+	private static void waitForFirstCall(OCISimulator simulator, Process process) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + RUN_TIMEOUT;
+		while (simulator.getCalls().keySet().stream().allMatch("PublicIP"::equals)) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException("dragonlite exited with status " + process.exitValue() + " before its first OCI request");
+			}
+			if (System.currentTimeMillis() > deadline) {
+				process.destroyForcibly();
+				throw new IllegalStateException("No OCI request after " + RUN_TIMEOUT + " ms");
+			}
+			Thread.sleep(5L);
+		}
+		// the timer is recorded once the response is read
+		Thread.sleep(200L);
+	}
+}
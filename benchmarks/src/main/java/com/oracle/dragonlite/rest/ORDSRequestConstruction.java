@@ -0,0 +1,61 @@
+package com.oracle.dragonlite.rest;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of the HTTP requests sent to the REST-enabled SQL service: plain SQL, JSON batch with binds, and the
+ * service itself (URLs and Basic authorization header encoding).
+ * <p>
+ * In the rest package to reach the package-private request builders of ADBRESTService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ORDSRequestConstruction {
+	private static final String SQL_DEV_WEB_URL = "https://abcdefghijklmno-dragonlite.adb.eu-frankfurt-1.oraclecloudapps.com/ords/admin/_sdw/";
+
+	/**
+	 * Number of statements in the batch.
+	 */
+	@Param({"1", "100"})
+	public int statements;
+
+	private ADBRESTService service;
+	private List<String> batch;
+	private List<ORDSBind> binds;
+
+	@Setup
+	public void setup() {
+		service = new ADBRESTService(SQL_DEV_WEB_URL, "ADMIN", "Very_Strong_Password_123");
+
+		batch = new ArrayList<>(statements);
+		for (int i = 0; i < statements; i++) {
+			batch.add("GRANT SELECT ON dragonlite_table_" + i + " TO DEMO");
+		}
+		binds = Collections.singletonList(ORDSBind.byName("username", "VARCHAR2", "DEMO"));
+	}
+
+	@Benchmark
+	public ADBRESTService newService() {
+		return new ADBRESTService(SQL_DEV_WEB_URL, "ADMIN", "Very_Strong_Password_123");
+	}
+
+	@Benchmark
+	public HttpRequest newRequest() {
+		return service.newRequest("SELECT username FROM all_users WHERE username = 'DEMO'");
+	}
+
+	@Benchmark
+	public HttpRequest newBatchRequest() {
+		return service.newBatchRequest(batch, binds);
+	}
+}
@@ -0,0 +1,27 @@
+package com.oracle.dragonlite.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching of the IP services answers: the address alone or the dyndns HTML page.
+ * <p>
+ * In the util package to reach PublicIPv4Retriever.parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PublicIPv4Parsing {
+	@Param({"203.0.113.254", "<html><head><title>Current IP Check</title></head><body>Current IP Address: 203.0.113.254</body></html>"})
+	public String answer;
+
+	@Benchmark
+	public String parse() throws IOException {
+		return PublicIPv4Retriever.parse(answer);
+	}
+}
@@ -1,23 +1,35 @@
 package com.oracle.dragonlite;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.oracle.bmc.database.DatabaseClient;
+import com.oracle.bmc.database.Database;
 import com.oracle.bmc.database.model.AutonomousDatabaseSummary;
 import com.oracle.bmc.database.model.CreateAutonomousDatabaseBase;
-import com.oracle.bmc.identity.IdentityClient;
-import com.oracle.bmc.limits.LimitsClient;
-import com.oracle.bmc.limits.requests.GetResourceAvailabilityRequest;
-import com.oracle.bmc.limits.responses.GetResourceAvailabilityResponse;
+import com.oracle.bmc.identity.Identity;
+import com.oracle.bmc.workrequests.WorkRequest;
 import com.oracle.dragonlite.configuration.ConfigurationFile;
 import com.oracle.dragonlite.configuration.ConfigurationFileAuthenticationDetailsProvider;
 import com.oracle.dragonlite.exception.DLException;
+import com.oracle.dragonlite.metrics.Metrics;
+import com.oracle.dragonlite.oci.CapacityPlanner;
+import com.oracle.dragonlite.oci.DatabaseLookup;
+import com.oracle.dragonlite.oci.OCIClients;
+import com.oracle.dragonlite.oci.WorkRequestTracker;
+import com.oracle.dragonlite.rest.ConnectivityMonitor;
+import com.oracle.dragonlite.rest.ORDSClientPool;
+import com.oracle.dragonlite.server.ControlPlaneServer;
+import com.oracle.dragonlite.server.ServiceState;
+import com.oracle.dragonlite.tracing.Span;
+import com.oracle.dragonlite.tracing.Tracer;
 import com.oracle.dragonlite.util.ADBConfiguration;
 import com.oracle.dragonlite.util.Utils;
 import com.oracle.dragonlite.work.Action;
 import com.oracle.dragonlite.work.CreateDatabaseUser;
 import com.oracle.dragonlite.work.DropDatabaseUser;
+import com.oracle.dragonlite.work.Fleet;
+import com.oracle.dragonlite.work.FleetManifest;
+import com.oracle.dragonlite.work.SchemaPool;
 import com.oracle.dragonlite.work.Start;
 import com.oracle.dragonlite.work.Terminate;
+import com.oracle.dragonlite.work.WarmPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,11 +69,24 @@ public class Main {
 		int exitStatus = 0;
 
 		final Main session = new Main(args);
+		ControlPlaneServer controlPlane = null;
+
+		// also run when the container stops the long-running process
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			session.dumpMetrics();
+			session.writeTrace();
+		}, "Diagnostics dump"));
+
+		// ended once the action is done, not when the long-running process stops
+		final Span trace = Tracer.startAt("dragonlite " + session.action, null, startTime)
+				.setAttribute("db.name", session.dbName);
 
 		try {
-			session.loadConfiguration();
+			Tracer.run("configuration loading", session::loadConfiguration);
+
+			Tracer.run("OCI clients initialization", session::initializeOCIClients);
 
-			session.initializeOCIClients();
+			controlPlane = session.startControlPlane();
 
 /*			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
 				try {
@@ -93,6 +118,14 @@ public class Main {
 					DropDatabaseUser.work(session, startTime);
 					break;
 
+				case ClaimSchema:
+					SchemaPool.claim(session, startTime);
+					break;
+
+				case ReleaseSchema:
+					SchemaPool.release(session, startTime);
+					break;
+
 				case StartDatabase:
 					try {
 						Start.work(session, startTime);
@@ -106,14 +139,53 @@ public class Main {
 						}
 					}
 
+					if (session.schemaPoolSize > 0) {
+						SchemaPool.start(session);
+					}
+					session.startConnectivityMonitor();
+					session.serviceState.ready();
+
+					trace.close();
+					long lastLeaseRenewal = System.currentTimeMillis();
+					while (stayAlive) {
+						Utils.sleep(1000L);
+						if (session.leaseId != null && System.currentTimeMillis() - lastLeaseRenewal >= WarmPool.LEASE_RENEWAL_INTERVAL) {
+							WarmPool.renew(session);
+							lastLeaseRenewal = System.currentTimeMillis();
+						}
+					}
+					break;
+
+				case ProvisionFleet:
+					Fleet.work(session, startTime);
+					session.serviceState.ready();
+
+					trace.close();
+					while (stayAlive) {
+						Utils.sleep(1000L);
+					}
+					break;
+
+				case ManagePool:
+					WarmPool.work(session, startTime);
+					session.serviceState.ready();
+
+					trace.close();
+					long lastReconciliation = System.currentTimeMillis();
 					while (stayAlive) {
 						Utils.sleep(1000L);
+						if (System.currentTimeMillis() - lastReconciliation >= WarmPool.RECONCILE_INTERVAL) {
+							WarmPool.maintain(session);
+							lastReconciliation = System.currentTimeMillis();
+						}
 					}
 					break;
 			}
 		}
 		catch (DLException e) {
 			exitStatus = e.getErrorCode();
+			session.serviceState.failed(exitStatus);
+			trace.setError(e);
 			switch (session.action) {
 				case TerminateDatabase:
 					System.out.printf("DATABASE TERMINATION FAILED (%d)!%nCHECK LOG OUTPUT FOR MORE INFORMATION!%n", exitStatus);
@@ -127,17 +199,42 @@ public class Main {
 					System.out.printf("USER DELETION FAILED (%d)!%nCHECK LOG OUTPUT FOR MORE INFORMATION!%n", exitStatus);
 					break;
 
+				case ClaimSchema:
+					System.out.printf("SCHEMA CLAIM FAILED (%d)!%nCHECK LOG OUTPUT FOR MORE INFORMATION!%n", exitStatus);
+					break;
+
+				case ReleaseSchema:
+					System.out.printf("SCHEMA RELEASE FAILED (%d)!%nCHECK LOG OUTPUT FOR MORE INFORMATION!%n", exitStatus);
+					break;
+
 				case StartDatabase:
 					System.out.printf("DATABASE STARTUP FAILED (%d)!%nCHECK LOG OUTPUT FOR MORE INFORMATION!%n", exitStatus);
 					break;
+
+				case ProvisionFleet:
+					System.out.printf("FLEET PROVISIONING FAILED (%d)!%nCHECK LOG OUTPUT FOR MORE INFORMATION!%n", exitStatus);
+					break;
+
+				case ManagePool:
+					System.out.printf("WARM POOL PROVISIONING FAILED (%d)!%nCHECK LOG OUTPUT FOR MORE INFORMATION!%n", exitStatus);
+					break;
 			}
 			logger.error("Error: " + e.getMessage());
 		}
+		finally {
+			trace.close();
+			if (controlPlane != null) {
+				controlPlane.close();
+			}
+			session.close();
+			ORDSClientPool.closeAll();
+		}
 
 		System.exit(exitStatus);
 	}
 
-	private final File workingDirectory = new File(".");
+	// overridable to run isolated sessions (e.g. benchmarks against a local OCI simulator)
+	private final File workingDirectory = new File(System.getProperty("dragonlite.workingDirectory", "."));
 	private ConfigurationFile.ConfigFile configurationFile;
 	private ConfigurationFileAuthenticationDetailsProvider provider;
 
@@ -154,13 +251,77 @@ public class Main {
 	private boolean reuse;
 	private Action action = StartDatabase;
 	private String sqlDevWebURL;
+	private ADBConfiguration databaseConfiguration;
+	private String databaseConfigurationFileName = "database.json";
 
-	private DatabaseClient dbClient;
-	private LimitsClient limitsClient;
-	private IdentityClient identityClient;
+	private String warmPool;
+	private int poolSize;
+	private boolean poolRunning;
+	private String leaseId;
+	private int schemaPoolSize;
+
+	private File fleetManifestFile;
+	private int fleetConcurrency = Fleet.DEFAULT_CONCURRENCY;
+
+	private int controlPlanePort = ControlPlaneServer.DEFAULT_PORT;
+	private final ServiceState serviceState;
+
+	private ConnectivityMonitor connectivityMonitor;
+
+	private OCIClients clients;
+	// true for the sessions of a fleet: the clients belong to the parent session
+	private boolean sharedClients;
 
 	public Main(String[] args) {
 		analyzeCommandLineParameters(args);
+		serviceState = new ServiceState(action.name());
+	}
+
+	/**
+	 * @return a session ready to run its action outside of {@link #main(String[])}: configuration loaded and OCI clients
+	 * initialized; it must be closed once done
+	 */
+	public static Main openSession(String... args) {
+		final Main session = new Main(args);
+		session.loadConfiguration();
+		session.initializeOCIClients();
+		return session;
+	}
+
+	/**
+	 * Session of one database of a fleet: shares the configuration and the OCI clients of its parent; any property not
+	 * given by the specification is inherited from the command line.
+	 */
+	private Main(Main parent, FleetManifest.DatabaseSpec spec) {
+		configurationFile = parent.configurationFile;
+		provider = parent.provider;
+		clients = parent.clients;
+		sharedClients = true;
+		profileName = parent.profileName;
+		reuse = parent.reuse;
+		warmPool = parent.warmPool;
+		serviceState = parent.serviceState;
+		action = StartDatabase;
+
+		dbName = spec.getName();
+		version = spec.getVersion() != null ? spec.getVersion() : parent.version;
+		workloadType = spec.getWorkloadType() != null ? spec.getWorkloadType() : parent.workloadType;
+		username = spec.getUser() != null ? spec.getUser() : parent.username;
+		userPassword = spec.getUserPassword() != null ? spec.getUserPassword() : parent.userPassword;
+		adminPassword = spec.getAdminPassword() != null ? spec.getAdminPassword() : parent.adminPassword;
+		invokerIPAddress = spec.getIpAddresses() != null ? spec.getIpAddresses() : parent.invokerIPAddress;
+		freeDatabase = spec.getFreeTiers() != null ? spec.getFreeTiers() : parent.freeDatabase;
+		byol = spec.getByol() != null ? spec.getByol() : parent.byol;
+		databaseConfigurationFileName = "database-" + dbName + ".json";
+
+		loadDatabaseConfiguration();
+	}
+
+	/**
+	 * @return a new session to start the database described by this specification
+	 */
+	public Main forDatabase(FleetManifest.DatabaseSpec spec) {
+		return new Main(this, spec);
 	}
 
 	private void loadConfiguration() {
@@ -172,12 +333,16 @@ public class Main {
 			throw new DLException(DLException.CANT_LOAD_CONFIGURATION_FILE, e);
 		}
 
+		loadDatabaseConfiguration();
+	}
+
+	private void loadDatabaseConfiguration() {
 		try {
-			final File existingDatabaseConfiguration = new File("database.json");
+			final File existingDatabaseConfiguration = getDatabaseConfigurationFile();
 			if (existingDatabaseConfiguration.exists() && existingDatabaseConfiguration.isFile()) {
-				ADBConfiguration adbConfiguration = new ObjectMapper().readValue(existingDatabaseConfiguration, ADBConfiguration.class);
-				if (adbConfiguration.getSqlDevWebUrl() != null) {
-					sqlDevWebURL = adbConfiguration.getSqlDevWebUrl();
+				databaseConfiguration = ADBConfiguration.load(existingDatabaseConfiguration);
+				if (databaseConfiguration.getSqlDevWebUrl() != null) {
+					sqlDevWebURL = databaseConfiguration.getSqlDevWebUrl();
 				}
 			}
 		}
@@ -186,9 +351,32 @@ public class Main {
 		}
 	}
 
+	/**
+	 * Starts the health/readiness/status endpoint for the actions keeping the process alive.
+	 *
+	 * @return the server, null if disabled or not needed
+	 */
+	private ControlPlaneServer startControlPlane() {
+		if (controlPlanePort <= 0 || (action != StartDatabase && action != ProvisionFleet && action != ManagePool)) {
+			return null;
+		}
+
+		try {
+			final ControlPlaneServer controlPlane = new ControlPlaneServer(controlPlanePort, serviceState);
+			controlPlane.start();
+			return controlPlane;
+		}
+		catch (IOException e) {
+			// the databases can still be used, only probes will fail
+			logger.warn("Can't start control plane on port " + controlPlanePort + ": " + e.getMessage());
+			return null;
+		}
+	}
+
 	private void displayUsage() {
 		System.out.println("Usage: dragonlite -p <OCI configuration profile> -r [true|false*] -d <database name> -u <user name>" +
-				" -up <password> -ap <ADMIN password> -v <19c|21c> -w <json|oltp|dw> -i <IPv4[,IPv4]*> [-b] [-nf] [-t] [-cu] [-du]\n\n" +
+				" -up <password> -ap <ADMIN password> -v <19c|21c> -w <json|oltp|dw> -i <IPv4[,IPv4]*> [-b] [-nf] [-t] [-cu] [-du]" +
+				" [-f <fleet manifest> [-fc <concurrency>]] [-wp <warm pool name> [-pool <size> [-pr]]] [-sp <size>] [-cs] [-rs] [-hp <port>]\n\n" +
 				"-p    Oracle Cloud Infrastructure configuration profile\n" +
 				"-r    reuse database instance, do not create a new one\n" +
 				"-d    database name\n" +
@@ -202,7 +390,16 @@ public class Main {
 				"-nf   non Always Free Tiers deployment\n" +
 				"-t    ask to terminate the database\n" +
 				"-cu   create user only\n" +
-				"-du   drop user only");
+				"-du   drop user only\n" +
+				"-f    start all the databases of this JSON manifest (fleet)\n" +
+				"-fc   maximum number of databases of the fleet started concurrently (default " + Fleet.DEFAULT_CONCURRENCY + ")\n" +
+				"-wp   lease the database from this warm pool (returned to the pool with -t)\n" +
+				"-pool manage the warm pool: keep this number of databases pre-provisioned\n" +
+				"-pr   keep the free databases of the warm pool running instead of stopped\n" +
+				"-sp   keep this number of schemas ready to be claimed on the shared database (-u sharedDatabase)\n" +
+				"-cs   claim a schema of the shared database pool only\n" +
+				"-rs   release the schema (-u) to the shared database pool only\n" +
+				"-hp   port of the /health, /ready and /status endpoints (default " + ControlPlaneServer.DEFAULT_PORT + ", 0 to disable)");
 	}
 
 	private void analyzeCommandLineParameters(String[] args) {
@@ -302,6 +499,104 @@ public class Main {
 					}
 					break;
 
+				case "-f":
+					if (action == StartDatabase) {
+						action = ProvisionFleet;
+					}
+					else {
+						displayUsage();
+						throw new DLException(DLException.MULTIPLE_ACTION_REQUESTED);
+					}
+					if (i + 1 < args.length) {
+						fleetManifestFile = new File(args[++i]);
+					}
+					break;
+
+				case "-fc":
+					if (i + 1 < args.length) {
+						try {
+							fleetConcurrency = Math.max(1, Integer.parseInt(args[++i]));
+						}
+						catch (NumberFormatException e) {
+							displayUsage();
+							throw new DLException(DLException.UNKNOWN_COMMAND_LINE_ARGUMENT);
+						}
+					}
+					break;
+
+				case "-wp":
+					if (i + 1 < args.length) {
+						warmPool = args[++i];
+					}
+					break;
+
+				case "-pool":
+					if (action == StartDatabase) {
+						action = ManagePool;
+					}
+					else {
+						displayUsage();
+						throw new DLException(DLException.MULTIPLE_ACTION_REQUESTED);
+					}
+					if (i + 1 < args.length) {
+						try {
+							poolSize = Math.max(0, Integer.parseInt(args[++i]));
+						}
+						catch (NumberFormatException e) {
+							displayUsage();
+							throw new DLException(DLException.UNKNOWN_COMMAND_LINE_ARGUMENT);
+						}
+					}
+					break;
+
+				case "-pr":
+					poolRunning = true;
+					break;
+
+				case "-sp":
+					if (i + 1 < args.length) {
+						try {
+							schemaPoolSize = Math.max(0, Integer.parseInt(args[++i]));
+						}
+						catch (NumberFormatException e) {
+							displayUsage();
+							throw new DLException(DLException.UNKNOWN_COMMAND_LINE_ARGUMENT);
+						}
+					}
+					break;
+
+				case "-hp":
+					if (i + 1 < args.length) {
+						try {
+							controlPlanePort = Integer.parseInt(args[++i]);
+						}
+						catch (NumberFormatException e) {
+							displayUsage();
+							throw new DLException(DLException.UNKNOWN_COMMAND_LINE_ARGUMENT);
+						}
+					}
+					break;
+
+				case "-cs":
+					if (action == StartDatabase) {
+						action = ClaimSchema;
+					}
+					else {
+						displayUsage();
+						throw new DLException(DLException.MULTIPLE_ACTION_REQUESTED);
+					}
+					break;
+
+				case "-rs":
+					if (action == StartDatabase) {
+						action = ReleaseSchema;
+					}
+					else {
+						displayUsage();
+						throw new DLException(DLException.MULTIPLE_ACTION_REQUESTED);
+					}
+					break;
+
 				default:
 					displayUsage();
 					throw new DLException(DLException.UNKNOWN_COMMAND_LINE_ARGUMENT);
@@ -310,39 +605,95 @@ public class Main {
 	}
 
 	private void initializeOCIClients() {
-		dbClient = new DatabaseClient(provider);
-		dbClient.setRegion(provider.getRegion());
+		clients = new OCIClients(provider, provider.getRegion());
 	}
 
-	private Boolean freeTiersDatabaseResourceExhausted = null;
+	/**
+	 * Releases the OCI clients (and their connection pools) of this session.
+	 */
+	public void close() {
+		if (connectivityMonitor != null) {
+			serviceState.removeCheck(connectivityMonitor);
+			connectivityMonitor.close();
+		}
+		if (clients != null && !sharedClients) {
+			clients.close();
+		}
+	}
 
-	public boolean isFreeTiersDatabaseResourceExhausted() {
-		if (freeTiersDatabaseResourceExhausted == null) {
-			// lazy initialization of limitsClient
-			limitsClient = new LimitsClient(provider);
-			limitsClient.setRegion(provider.getRegion());
-
-			GetResourceAvailabilityRequest getResourceAvailabilityRequest =
-					GetResourceAvailabilityRequest.builder()
-							.compartmentId(getProvider().getTenantId())
-							.serviceName("database")
-							.limitName("adb-free-count")
-							.build();
-			GetResourceAvailabilityResponse resourceAvailabilityResponse = limitsClient.getResourceAvailability(getResourceAvailabilityRequest);
-
-			return freeTiersDatabaseResourceExhausted = resourceAvailabilityResponse.getResourceAvailability().getAvailable() <= 0;
+	/**
+	 * Keeps checking in the background that ORDS answers: readiness turns off while it doesn't.
+	 */
+	public void startConnectivityMonitor() {
+		if (sqlDevWebURL == null || connectivityMonitor != null) {
+			return;
+		}
+
+		connectivityMonitor = new ConnectivityMonitor(dbName, sqlDevWebURL, "ADMIN", adminPassword);
+		serviceState.addCheck(connectivityMonitor);
+		connectivityMonitor.start();
+	}
+
+	/**
+	 * Writes the summary of the metrics collected by this process (metrics.json).
+	 */
+	private void dumpMetrics() {
+		if (Metrics.isEmpty()) {
+			return;
 		}
-		else {
-			return freeTiersDatabaseResourceExhausted;
+
+		final File metricsFile = new File(workingDirectory, "metrics.json");
+		try {
+			Metrics.dump(metricsFile);
+			logger.info("metrics written to " + metricsFile.getPath());
+		}
+		catch (IOException e) {
+			logger.warn("Can't write metrics: " + e.getMessage());
 		}
 	}
 
+	/**
+	 * Writes the spans of the phases of this process (trace.json, OTLP/JSON format).
+	 */
+	private void writeTrace() {
+		if (Tracer.isEmpty()) {
+			return;
+		}
+
+		final File traceFile = new File(workingDirectory, "trace.json");
+		try {
+			Tracer.write(traceFile);
+			logger.info("trace written to " + traceFile.getPath());
+		}
+		catch (IOException e) {
+			logger.warn("Can't write trace: " + e.getMessage());
+		}
+	}
+
+	private CapacityPlanner capacityPlanner;
+
+	/**
+	 * @return the tenancy limits pre-flight check of the databases this session creates, its answers are kept for the
+	 * session
+	 */
+	public synchronized CapacityPlanner getCapacityPlanner() {
+		if (capacityPlanner == null) {
+			capacityPlanner = new CapacityPlanner(clients.getLimitsClient(), getProvider().getTenantId(), freeDatabase, getWorkloadType(),
+					Start.CPU_CORE_COUNT, Start.DATA_STORAGE_SIZE_IN_TBS);
+		}
+		return capacityPlanner;
+	}
+
+	public boolean isFreeTiersDatabaseResourceExhausted() {
+		return getCapacityPlanner().isExhausted(CapacityPlanner.FREE_COUNT);
+	}
+
 	public String getDbName() {
 		return dbName;
 	}
 
-	public DatabaseClient getDbClient() {
-		return dbClient;
+	public Database getDbClient() {
+		return clients.getDatabaseClient();
 	}
 
 	public ConfigurationFileAuthenticationDetailsProvider getProvider() {
@@ -393,14 +744,26 @@ public class Main {
 		}
 	}
 
-	public IdentityClient getIdentityClient() {
-		// initialize only in the case of database creation
-		if (identityClient == null) {
-			identityClient = new IdentityClient(provider);
-			identityClient.setRegion(provider.getRegion());
-		}
+	public Identity getIdentityClient() {
+		// initialized only in the case of database creation
+		return clients.getIdentityClient();
+	}
+
+	public WorkRequest getWorkRequestClient() {
+		return clients.getWorkRequestClient();
+	}
+
+	public DatabaseLookup getDatabaseLookup() {
+		return new DatabaseLookup(getDbClient());
+	}
 
-		return identityClient;
+	/**
+	 * The lifecycle watcher only saves calls with several databases in flight (fleet or warm pool): a single database
+	 * polls its own.
+	 */
+	public WorkRequestTracker getWorkRequestTracker() {
+		return new WorkRequestTracker(getWorkRequestClient(), getDbClient(),
+				sharedClients || action == ManagePool ? clients.getLifecycleWatcher() : null);
 	}
 
 	public String getUsername() {
@@ -427,6 +790,66 @@ public class Main {
 		return sqlDevWebURL;
 	}
 
+	/**
+	 * @return the local metadata of the database, null if none was written yet
+	 */
+	public ADBConfiguration getDatabaseConfiguration() {
+		return databaseConfiguration;
+	}
+
+	public void setDatabaseConfiguration(ADBConfiguration databaseConfiguration) {
+		this.databaseConfiguration = databaseConfiguration;
+		this.sqlDevWebURL = databaseConfiguration == null ? null : databaseConfiguration.getSqlDevWebUrl();
+	}
+
+	public File getWorkingDirectory() {
+		return workingDirectory;
+	}
+
+	public File getDatabaseConfigurationFile() {
+		return new File(workingDirectory, databaseConfigurationFileName);
+	}
+
+	public String getWarmPool() {
+		return warmPool;
+	}
+
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	public boolean isPoolRunning() {
+		return poolRunning;
+	}
+
+	public ServiceState getServiceState() {
+		return serviceState;
+	}
+
+	public int getSchemaPoolSize() {
+		return schemaPoolSize;
+	}
+
+	public String getLeaseId() {
+		return leaseId;
+	}
+
+	/**
+	 * The database leased from the warm pool becomes the database of this session.
+	 */
+	public void setLeasedDatabase(String dbName, String leaseId) {
+		this.dbName = dbName;
+		this.leaseId = leaseId;
+	}
+
+	public File getFleetManifestFile() {
+		return fleetManifestFile;
+	}
+
+	public int getFleetConcurrency() {
+		return fleetConcurrency;
+	}
+
 	@Override
 	public String toString() {
 		return "Main{" +
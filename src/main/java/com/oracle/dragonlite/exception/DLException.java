@@ -24,6 +24,13 @@ public class DLException extends RuntimeException {
 	public static final int WAIT_FOR_TERMINATION_FAILURE = 21;
 	public static final int MULTIPLE_ACTION_REQUESTED = 22;
 	public static final int INVALID_DATABASE_CONFIGURATION = 23;
+	public static final int INVALID_FLEET_MANIFEST = 24;
+	public static final int FLEET_PROVISIONING_FAILURE = 25;
+	public static final int CANT_CLAIM_POOL_DATABASE = 26;
+	public static final int CANT_RELEASE_POOL_DATABASE = 27;
+	public static final int POOL_PROVISIONING_FAILURE = 28;
+	public static final int CANT_INSTALL_SCHEMA_POOL = 29;
+	public static final int NO_SCHEMA_AVAILABLE = 30;
 
 
 	private final int errorCode;
@@ -0,0 +1,137 @@
+package com.oracle.dragonlite.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.oracle.dragonlite.util.LatencyHistogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of counters and latency timers, exposed in the Prometheus text format (/metrics) and dumped as
+ * a JSON summary on exit.
+ * <p>
+ * Metrics are identified by their name and labels (name/value pairs); they are created on first use:
+ * <pre>Metrics.counter("ords_retries_total", "status", "503").increment();</pre>
+ */
+public final class Metrics {
+	// Prometheus histogram buckets, in seconds
+	static final double[] BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 300};
+
+	record Key(String name, String labels) {
+		static final Comparator<Key> ORDER = Comparator.comparing(Key::name).thenComparing(Key::labels);
+	}
+
+	private static final Map<Key, LongAdder> counters = new ConcurrentSkipListMap<>(Key.ORDER);
+	private static final Map<Key, LatencyHistogram> timers = new ConcurrentSkipListMap<>(Key.ORDER);
+
+	private Metrics() {
+	}
+
+	public static LongAdder counter(String name, String... labels) {
+		return counters.computeIfAbsent(new Key(name, labels(labels)), k -> new LongAdder());
+	}
+
+	public static LatencyHistogram timer(String name, String... labels) {
+		return timers.computeIfAbsent(new Key(name, labels(labels)), k -> new LatencyHistogram());
+	}
+
+	public static boolean isEmpty() {
+		return counters.isEmpty() && timers.isEmpty();
+	}
+
+	/**
+	 * @return all the metrics in the Prometheus text exposition format (version 0.0.4)
+	 */
+	public static String toPrometheus() {
+		final StringBuilder sb = new StringBuilder();
+
+		String previous = null;
+		for (Map.Entry<Key, LongAdder> entry : counters.entrySet()) {
+			final Key key = entry.getKey();
+			if (!key.name().equals(previous)) {
+				sb.append("# TYPE ").append(key.name()).append(" counter\n");
+				previous = key.name();
+			}
+			sb.append(key.name()).append(braces(key.labels())).append(' ').append(entry.getValue().sum()).append('\n');
+		}
+
+		previous = null;
+		for (Map.Entry<Key, LatencyHistogram> entry : timers.entrySet()) {
+			final Key key = entry.getKey();
+			final LatencyHistogram histogram = entry.getValue();
+			if (!key.name().equals(previous)) {
+				sb.append("# TYPE ").append(key.name()).append(" histogram\n");
+				previous = key.name();
+			}
+			for (double bucket : BUCKETS) {
+				sb.append(key.name()).append("_bucket").append(braces(join(key.labels(), "le=\"" + bucket + "\""))).append(' ')
+						.append(histogram.getCountBelow((long) (bucket * 1_000_000d))).append('\n');
+			}
+			sb.append(key.name()).append("_bucket").append(braces(join(key.labels(), "le=\"+Inf\""))).append(' ').append(histogram.getCount()).append('\n');
+			sb.append(key.name()).append("_sum").append(braces(key.labels())).append(' ').append(histogram.getSumMicros() / 1_000_000d).append('\n');
+			sb.append(key.name()).append("_count").append(braces(key.labels())).append(' ').append(histogram.getCount()).append('\n');
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * @return counters values, and for each timer its count, sum, percentiles and maximum (milliseconds)
+	 */
+	public static ObjectNode toJSON(ObjectMapper mapper) {
+		final ObjectNode root = mapper.createObjectNode();
+
+		final ObjectNode countersNode = root.putObject("counters");
+		for (Map.Entry<Key, LongAdder> entry : counters.entrySet()) {
+			countersNode.put(entry.getKey().name() + braces(entry.getKey().labels()), entry.getValue().sum());
+		}
+
+		final ObjectNode timersNode = root.putObject("timers");
+		for (Map.Entry<Key, LatencyHistogram> entry : timers.entrySet()) {
+			final LatencyHistogram histogram = entry.getValue();
+			timersNode.putObject(entry.getKey().name() + braces(entry.getKey().labels()))
+					.put("count", histogram.getCount())
+					.put("sumMillis", histogram.getSumMicros() / 1000d)
+					.put("p50Millis", histogram.getPercentileMicros(50) / 1000d)
+					.put("p95Millis", histogram.getPercentileMicros(95) / 1000d)
+					.put("p99Millis", histogram.getPercentileMicros(99) / 1000d)
+					.put("maxMillis", histogram.getMaxMicros() / 1000d);
+		}
+
+		return root;
+	}
+
+	public static void dump(File file) throws IOException {
+		final ObjectMapper mapper = new ObjectMapper();
+		mapper.writerWithDefaultPrettyPrinter().writeValue(file, toJSON(mapper));
+	}
+
+	private static String labels(String... labels) {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i + 1 < labels.length; i += 2) {
+			if (sb.length() > 0) {
+				sb.append(',');
+			}
+			sb.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+		}
+
+		return sb.toString();
+	}
+
+	private static String escape(String value) {
+		return value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	private static String join(String labels, String label) {
+		return labels.isEmpty() ? label : labels + "," + label;
+	}
+
+	private static String braces(String labels) {
+		return labels.isEmpty() ? "" : "{" + labels + "}";
+	}
+}
@@ -0,0 +1,187 @@
+package com.oracle.dragonlite.oci;
+
+import com.oracle.bmc.database.model.CreateAutonomousDatabaseBase;
+import com.oracle.bmc.limits.Limits;
+import com.oracle.bmc.limits.model.ResourceAvailability;
+import com.oracle.bmc.limits.requests.GetResourceAvailabilityRequest;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.dragonlite.exception.DLException;
+import com.oracle.dragonlite.util.TaskGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-flight check of the tenancy limits before creating databases: all the limits a database of the session counts
+ * against (free tier count, or CPU and storage of its workload type) are queried concurrently, and their answers kept
+ * for the session (until {@link #clear()}).
+ * <p>
+ * A limit the limits service doesn't know, or the user isn't allowed to read, is not checked: the creation request
+ * remains the final judge.
+ */
+public final class CapacityPlanner {
+	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
+
+	public static final String FREE_COUNT = "adb-free-count";
+
+	private final Limits limitsClient;
+	private final String tenancyId;
+	private final boolean freeTier;
+
+	/**
+	 * Amount of each limit used by one database.
+	 */
+	private final Map<String, Double> requirements = new LinkedHashMap<>();
+
+	private final Map<String, Optional<ResourceAvailability>> availabilities = new ConcurrentHashMap<>();
+
+	/**
+	 * @param cpuCoreCount OCPUs of a paid database
+	 * @param storageTBs   storage of a paid database
+	 */
+	public CapacityPlanner(Limits limitsClient, String tenancyId, boolean freeTier, CreateAutonomousDatabaseBase.DbWorkload workload,
+						   int cpuCoreCount, int storageTBs) {
+		this.limitsClient = limitsClient;
+		this.tenancyId = tenancyId;
+		this.freeTier = freeTier;
+
+		if (freeTier) {
+			requirements.put(FREE_COUNT, 1d);
+		}
+		else {
+			final String prefix = limitPrefix(workload);
+			if (prefix != null) {
+				requirements.put(prefix + "-ocpu-count", (double) cpuCoreCount);
+				requirements.put(prefix + "-total-storage-tb", (double) storageTBs);
+			}
+		}
+	}
+
+	/**
+	 * @return the prefix of the limit names of the workload type, null if unknown
+	 */
+	private static String limitPrefix(CreateAutonomousDatabaseBase.DbWorkload workload) {
+		if (workload == null) {
+			return null;
+		}
+
+		return switch (workload) {
+			case Oltp -> "atp";
+			case Dw -> "adw";
+			case Ajd -> "ajd";
+			case Apex -> "apex";
+			default -> null;
+		};
+	}
+
+	/**
+	 * @return the number of databases of the session the tenancy can still create, Integer.MAX_VALUE if no limit
+	 * could be checked
+	 */
+	public int fits() {
+		fetch(new ArrayList<>(requirements.keySet()));
+
+		int fits = Integer.MAX_VALUE;
+		for (Map.Entry<String, Double> requirement : requirements.entrySet()) {
+			final Double available = available(requirement.getKey());
+			if (available != null && requirement.getValue() > 0) {
+				fits = (int) Math.min(fits, Math.floor(available / requirement.getValue()));
+			}
+		}
+
+		return Math.max(fits, 0);
+	}
+
+	/**
+	 * Fails fast if the tenancy can't create that many databases of the session.
+	 *
+	 * @throws DLException FREE_TIERS_DATABASE_RESOURCE_EXHAUSTED or DATABASE_RESOURCE_LIMIT_REACHED
+	 */
+	public void check(int databases) {
+		final int fits = fits();
+		if (fits >= databases) {
+			return;
+		}
+
+		final StringBuilder details = new StringBuilder();
+		for (Map.Entry<String, Double> requirement : requirements.entrySet()) {
+			details.append(details.length() == 0 ? "" : ", ").append(requirement.getKey()).append(": ")
+					.append(available(requirement.getKey())).append(" available, ").append(requirement.getValue() * databases).append(" needed");
+		}
+		logger.error("tenancy limits reached (" + details + ")");
+
+		throw new DLException(freeTier ? DLException.FREE_TIERS_DATABASE_RESOURCE_EXHAUSTED : DLException.DATABASE_RESOURCE_LIMIT_REACHED);
+	}
+
+	/**
+	 * @return true if the limit is known and nothing is available
+	 */
+	public boolean isExhausted(String limitName) {
+		fetch(List.of(limitName));
+		final Double available = available(limitName);
+		return available != null && available <= 0;
+	}
+
+	/**
+	 * Forgets the answers, e.g. before a new reconciliation of a long-running process.
+	 */
+	public void clear() {
+		availabilities.clear();
+	}
+
+	private Double available(String limitName) {
+		final ResourceAvailability availability = availabilities.getOrDefault(limitName, Optional.empty()).orElse(null);
+		if (availability == null) {
+			return null;
+		}
+
+		if (availability.getFractionalAvailability() != null) {
+			return availability.getFractionalAvailability().doubleValue();
+		}
+
+		return availability.getAvailable() == null ? null : availability.getAvailable().doubleValue();
+	}
+
+	/**
+	 * Queries concurrently the limits not answered yet.
+	 */
+	private void fetch(List<String> limitNames) {
+		final List<String> missing = limitNames.stream().filter(limitName -> !availabilities.containsKey(limitName)).toList();
+		if (missing.isEmpty()) {
+			return;
+		}
+
+		try (TaskGraph limits = new TaskGraph("Limits", missing.size())) {
+			final Map<String, CompletableFuture<Optional<ResourceAvailability>>> queries = new LinkedHashMap<>();
+			for (String limitName : missing) {
+				queries.put(limitName, limits.submit(limitName + " availability", () -> query(limitName)));
+			}
+
+			queries.forEach((limitName, query) -> availabilities.put(limitName, TaskGraph.join(query)));
+		}
+	}
+
+	private Optional<ResourceAvailability> query(String limitName) {
+		try {
+			return Optional.ofNullable(limitsClient.getResourceAvailability(GetResourceAvailabilityRequest.builder()
+					.compartmentId(tenancyId)
+					.serviceName("database")
+					.limitName(limitName)
+					.build()).getResourceAvailability());
+		}
+		catch (BmcException e) {
+			if (e.getStatusCode() == 401 || e.getStatusCode() == 403 || e.getStatusCode() == 404) {
+				logger.warn("limit " + limitName + " not checked: " + e.getMessage());
+				return Optional.empty();
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.oracle.dragonlite.oci;
+
+import com.oracle.bmc.database.Database;
+import com.oracle.bmc.database.model.AutonomousDatabaseSummary;
+import com.oracle.bmc.database.requests.ListAutonomousDatabasesRequest;
+import com.oracle.bmc.database.responses.ListAutonomousDatabasesResponse;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Finds Autonomous Databases in a compartment: filters are pushed to the server and pages are fetched lazily (following
+ * opc-next-page) only until a match is found.
+ */
+public class DatabaseLookup {
+	public static final int PAGE_SIZE = 50;
+
+	private final Database dbClient;
+
+	public DatabaseLookup(Database dbClient) {
+		this.dbClient = dbClient;
+	}
+
+	/**
+	 * @return the request listing the databases created by dragonlite for this name (display name is
+	 * &lt;dbName&gt;_Database), most recent first
+	 */
+	public static ListAutonomousDatabasesRequest.Builder byDisplayName(String compartmentId, String dbName) {
+		return ListAutonomousDatabasesRequest.builder()
+				.compartmentId(compartmentId)
+				.displayName(dbName + "_Database")
+				.sortBy(ListAutonomousDatabasesRequest.SortBy.Timecreated)
+				.sortOrder(ListAutonomousDatabasesRequest.SortOrder.Desc);
+	}
+
+	/**
+	 * @return the request listing the members of a warm pool (display name is &lt;poolName&gt;_Pool)
+	 */
+	public static ListAutonomousDatabasesRequest.Builder byPoolName(String compartmentId, String poolName) {
+		return ListAutonomousDatabasesRequest.builder()
+				.compartmentId(compartmentId)
+				.displayName(poolName + "_Pool")
+				.sortBy(ListAutonomousDatabasesRequest.SortBy.Timecreated)
+				.sortOrder(ListAutonomousDatabasesRequest.SortOrder.Asc);
+	}
+
+	/**
+	 * @param request filters of the lookup
+	 * @param dbName  database name to match
+	 * @return the first database not terminated with this name, null if none
+	 */
+	public AutonomousDatabaseSummary findByDbName(ListAutonomousDatabasesRequest request, String dbName) {
+		final Iterator<AutonomousDatabaseSummary> databases = iterate(request);
+		while (databases.hasNext()) {
+			final AutonomousDatabaseSummary adb = databases.next();
+			if (adb.getLifecycleState() != AutonomousDatabaseSummary.LifecycleState.Terminated && dbName.equals(adb.getDbName())) {
+				return adb;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Iterates over all the databases matching the request, fetching the next page only when the current one has been
+	 * consumed.
+	 */
+	public Iterator<AutonomousDatabaseSummary> iterate(final ListAutonomousDatabasesRequest request) {
+		return new Iterator<>() {
+			private Iterator<AutonomousDatabaseSummary> page = Collections.emptyIterator();
+			private String nextPage;
+			private boolean lastPage;
+
+			@Override
+			public boolean hasNext() {
+				while (!page.hasNext() && !lastPage) {
+					final ListAutonomousDatabasesResponse response = dbClient.listAutonomousDatabases(ListAutonomousDatabasesRequest.builder()
+							.copy(request)
+							.limit(request.getLimit() != null ? request.getLimit() : PAGE_SIZE)
+							.page(nextPage)
+							.build());
+					page = response.getItems().iterator();
+					nextPage = response.getOpcNextPage();
+					lastPage = nextPage == null;
+				}
+
+				return page.hasNext();
+			}
+
+			@Override
+			public AutonomousDatabaseSummary next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return page.next();
+			}
+		};
+	}
+}
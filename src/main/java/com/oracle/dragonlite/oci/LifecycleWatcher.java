@@ -0,0 +1,227 @@
+package com.oracle.dragonlite.oci;
+
+import com.oracle.bmc.database.Database;
+import com.oracle.bmc.database.model.AutonomousDatabase;
+import com.oracle.bmc.database.model.AutonomousDatabaseSummary;
+import com.oracle.bmc.database.requests.GetAutonomousDatabaseRequest;
+import com.oracle.bmc.database.requests.ListAutonomousDatabasesRequest;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.dragonlite.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the lifecycle state of many Autonomous Databases with a single polling loop: on each tick, the databases
+ * watched in a compartment are refreshed by one listing of the compartment (a single GetAutonomousDatabase if only one
+ * is watched there), instead of one poll per database. The future of each database completes when it reaches the
+ * expected state, or fails when it reaches a failure state (its caller then finds out why, e.g. from the work
+ * request). The ticks are spaced like the polls of the {@link WorkRequestTracker}: a tenth of the time the oldest
+ * database has been watched, bounded and jittered; the loop stops while nothing is watched.
+ * <p>
+ * Shared by all the sessions using the same {@link OCIClients} (e.g. the databases of a fleet or of a warm pool).
+ */
+public final class LifecycleWatcher implements AutoCloseable {
+	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
+
+	private static final Set<String> FAILURE_STATES = Set.of(
+			AutonomousDatabaseSummary.LifecycleState.Terminated.getValue(),
+			AutonomousDatabaseSummary.LifecycleState.Unavailable.getValue(),
+			AutonomousDatabaseSummary.LifecycleState.RestoreFailed.getValue());
+
+	private record Watch(String autonomousDatabaseId, String compartmentId, String expectedState, long startTime,
+						 CompletableFuture<AutonomousDatabase> future) {
+	}
+
+	private final Database dbClient;
+	private final DatabaseLookup lookup;
+	private final List<Watch> watches = new ArrayList<>();
+
+	private ScheduledExecutorService ticker;
+	private boolean ticking;
+	private long backoff;
+	private boolean closed;
+
+	public LifecycleWatcher(Database dbClient) {
+		this.dbClient = dbClient;
+		this.lookup = new DatabaseLookup(dbClient);
+	}
+
+	/**
+	 * Checks the database once, then watches it until it reaches the expected state; cancelling the future stops
+	 * watching it.
+	 *
+	 * @return the database in the expected state
+	 */
+	public CompletableFuture<AutonomousDatabase> watch(String autonomousDatabaseId, AutonomousDatabase.LifecycleState expectedState) {
+		final AutonomousDatabase current;
+		try {
+			current = get(autonomousDatabaseId);
+		}
+		catch (BmcException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		if (current.getLifecycleState() == expectedState) {
+			return CompletableFuture.completedFuture(current);
+		}
+
+		final Watch watch = new Watch(autonomousDatabaseId, current.getCompartmentId(), expectedState.getValue(), System.currentTimeMillis(),
+				new CompletableFuture<>());
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("Lifecycle watcher already closed");
+			}
+			watches.add(watch);
+			if (ticker == null) {
+				ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+					final Thread t = new Thread(r, "Lifecycle watcher");
+					t.setDaemon(true);
+					return t;
+				});
+			}
+			if (!ticking) {
+				ticking = true;
+				ticker.schedule(this::tick, WorkRequestTracker.MIN_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		return watch.future;
+	}
+
+	private void tick() {
+		final Map<String, List<Watch>> byCompartment = new HashMap<>();
+		synchronized (this) {
+			watches.removeIf(watch -> watch.future.isDone());
+			if (watches.isEmpty() || closed) {
+				ticking = false;
+				return;
+			}
+			for (Watch watch : watches) {
+				byCompartment.computeIfAbsent(watch.compartmentId, k -> new ArrayList<>()).add(watch);
+			}
+		}
+
+		boolean throttled = false;
+		for (Map.Entry<String, List<Watch>> compartment : byCompartment.entrySet()) {
+			try {
+				refresh(compartment.getKey(), compartment.getValue());
+			}
+			catch (BmcException e) {
+				if (!WorkRequestTracker.isTransient(e)) {
+					compartment.getValue().forEach(watch -> watch.future.completeExceptionally(e));
+					continue;
+				}
+				throttled = true;
+				logger.warn(String.format("lifecycle watch of compartment %s throttled (%d)", compartment.getKey(), e.getStatusCode()));
+			}
+			catch (RuntimeException e) {
+				compartment.getValue().forEach(watch -> watch.future.completeExceptionally(e));
+			}
+		}
+
+		backoff = throttled ? WorkRequestTracker.nextBackoff(backoff) : 0L;
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			final long oldestStartTime = watches.stream().mapToLong(Watch::startTime).min().orElse(System.currentTimeMillis());
+			ticker.schedule(this::tick, backoff > 0L ? backoff : WorkRequestTracker.nextPollInterval(null, System.currentTimeMillis() - oldestStartTime),
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Refreshes the states of the databases watched in a compartment.
+	 */
+	private void refresh(String compartmentId, List<Watch> compartmentWatches) {
+		if (compartmentWatches.stream().map(Watch::autonomousDatabaseId).distinct().count() == 1) {
+			Metrics.counter("oci_lifecycle_watcher_requests_total", "operation", "get").increment();
+			final AutonomousDatabase autonomousDatabase = get(compartmentWatches.get(0).autonomousDatabaseId);
+			for (Watch watch : compartmentWatches) {
+				update(watch, autonomousDatabase.getLifecycleState().getValue(), autonomousDatabase);
+			}
+			return;
+		}
+
+		final Map<String, List<Watch>> remaining = new HashMap<>();
+		for (Watch watch : compartmentWatches) {
+			remaining.computeIfAbsent(watch.autonomousDatabaseId, k -> new ArrayList<>()).add(watch);
+		}
+
+		Metrics.counter("oci_lifecycle_watcher_requests_total", "operation", "list").increment();
+		final Iterator<AutonomousDatabaseSummary> databases = lookup.iterate(ListAutonomousDatabasesRequest.builder()
+				.compartmentId(compartmentId)
+				.sortBy(ListAutonomousDatabasesRequest.SortBy.Timecreated)
+				.sortOrder(ListAutonomousDatabasesRequest.SortOrder.Desc)
+				.build());
+		// the next pages are only fetched while some watched databases were not found
+		while (!remaining.isEmpty() && databases.hasNext()) {
+			final AutonomousDatabaseSummary summary = databases.next();
+			final List<Watch> databaseWatches = remaining.remove(summary.getId());
+			if (databaseWatches != null) {
+				for (Watch watch : databaseWatches) {
+					update(watch, summary.getLifecycleState().getValue(), null);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param autonomousDatabase the database if already fetched, null if known from a listing only
+	 */
+	private void update(Watch watch, String lifecycleState, AutonomousDatabase autonomousDatabase) {
+		if (watch.expectedState.equals(lifecycleState)) {
+			if (autonomousDatabase != null) {
+				watch.future.complete(autonomousDatabase);
+				return;
+			}
+
+			// the listing only has the summary: a last call fetches the complete database; its failure only concerns
+			// this database, the other ones of the compartment keep being watched
+			try {
+				watch.future.complete(get(watch.autonomousDatabaseId));
+			}
+			catch (BmcException e) {
+				if (WorkRequestTracker.isTransient(e)) {
+					logger.warn(String.format("lifecycle watch of %s throttled (%d)", watch.autonomousDatabaseId, e.getStatusCode()));
+				}
+				else {
+					watch.future.completeExceptionally(e);
+				}
+			}
+		}
+		else if (FAILURE_STATES.contains(lifecycleState)) {
+			watch.future.completeExceptionally(new IllegalStateException("Database " + watch.autonomousDatabaseId + " is " + lifecycleState +
+					" instead of " + watch.expectedState));
+		}
+	}
+
+	private AutonomousDatabase get(String autonomousDatabaseId) {
+		return dbClient.getAutonomousDatabase(GetAutonomousDatabaseRequest.builder().autonomousDatabaseId(autonomousDatabaseId).build()).getAutonomousDatabase();
+	}
+
+	@Override
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		if (ticker != null) {
+			ticker.shutdownNow();
+		}
+		watches.forEach(watch -> watch.future.cancel(false));
+		watches.clear();
+	}
+}
@@ -0,0 +1,426 @@
+package com.oracle.dragonlite.oci;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.oracle.bmc.database.model.AutonomousDatabase;
+import com.oracle.bmc.database.model.AutonomousDatabaseSummary;
+import com.oracle.bmc.database.requests.CreateAutonomousDatabaseRequest;
+import com.oracle.bmc.database.requests.DeleteAutonomousDatabaseRequest;
+import com.oracle.bmc.database.requests.GetAutonomousDatabaseRequest;
+import com.oracle.bmc.database.requests.ListAutonomousDatabasesRequest;
+import com.oracle.bmc.database.requests.StartAutonomousDatabaseRequest;
+import com.oracle.bmc.database.requests.StopAutonomousDatabaseRequest;
+import com.oracle.bmc.database.requests.UpdateAutonomousDatabaseRequest;
+import com.oracle.bmc.database.responses.CreateAutonomousDatabaseResponse;
+import com.oracle.bmc.database.responses.DeleteAutonomousDatabaseResponse;
+import com.oracle.bmc.database.responses.GetAutonomousDatabaseResponse;
+import com.oracle.bmc.database.responses.ListAutonomousDatabasesResponse;
+import com.oracle.bmc.database.responses.StartAutonomousDatabaseResponse;
+import com.oracle.bmc.database.responses.StopAutonomousDatabaseResponse;
+import com.oracle.bmc.database.responses.UpdateAutonomousDatabaseResponse;
+import com.oracle.bmc.identity.model.User;
+import com.oracle.bmc.identity.requests.GetUserRequest;
+import com.oracle.bmc.identity.responses.GetUserResponse;
+import com.oracle.bmc.limits.model.ResourceAvailability;
+import com.oracle.bmc.limits.requests.GetResourceAvailabilityRequest;
+import com.oracle.bmc.limits.responses.GetResourceAvailabilityResponse;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.workrequests.model.WorkRequest;
+import com.oracle.bmc.workrequests.model.WorkRequestError;
+import com.oracle.bmc.workrequests.requests.GetWorkRequestRequest;
+import com.oracle.bmc.workrequests.requests.ListWorkRequestErrorsRequest;
+import com.oracle.bmc.workrequests.responses.GetWorkRequestResponse;
+import com.oracle.bmc.workrequests.responses.ListWorkRequestErrorsResponse;
+import com.oracle.dragonlite.metrics.Metrics;
+import com.oracle.dragonlite.util.Utils;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal OCI client built on java.net.http, implementing only the operations dragonlite calls behind the interfaces
+ * of the OCI SDK service clients (Database, WorkRequest, Limits and Identity): requests are signed with the API key of
+ * the configuration file, the request/response/model classes of the SDK are (de)serialized with Jackson.
+ * <p>
+ * Selected at build time (see {@link OCIClientMode}), it keeps the Jersey based HTTP stack of the SDK out of the
+ * native image. Any other operation throws an {@link UnsupportedOperationException}.
+ * <p>
+ * The clients are dynamic proxies of these interfaces: native-image can't detect them, each interface passed to
+ * {@link #create} must be listed in META-INF/native-image/proxy-config.json.
+ */
+final class LiteOCIClient implements InvocationHandler {
+	private static final int MAX_TRIES = 3;
+	private static final Pattern OCID = Pattern.compile("ocid1\\.[^/]+");
+
+	private static final ObjectMapper mapper = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+			.setSerializationInclusion(JsonInclude.Include.NON_NULL)
+			// the SDK models declare an "explicitlySetFilter": without it all the non null properties are sent
+			.setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+
+	private final String service;
+	private final RequestSigner signer;
+	private final HttpClient httpClient;
+	private String endpoint;
+
+	private LiteOCIClient(String service, String endpoint, RequestSigner signer, Duration connectionTimeout) {
+		this.service = service;
+		this.endpoint = endpoint;
+		this.signer = signer;
+		this.httpClient = HttpClient.newBuilder()
+				.connectTimeout(connectionTimeout)
+				.build();
+	}
+
+	/**
+	 * @param serviceInterface interface of the SDK client (e.g. com.oracle.bmc.database.Database)
+	 * @param service          name of the service for the metrics
+	 * @param endpoint         base URL of the service
+	 */
+	static <T> T create(Class<T> serviceInterface, String service, String endpoint, RequestSigner signer, Duration connectionTimeout) {
+		return serviceInterface.cast(Proxy.newProxyInstance(serviceInterface.getClassLoader(), new Class<?>[]{serviceInterface},
+				new LiteOCIClient(service, endpoint, signer, connectionTimeout)));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) {
+		return switch (method.getName()) {
+			// Database
+			case "listAutonomousDatabases" -> listAutonomousDatabases((ListAutonomousDatabasesRequest) args[0]);
+			case "getAutonomousDatabase" -> getAutonomousDatabase((GetAutonomousDatabaseRequest) args[0]);
+			case "createAutonomousDatabase" -> createAutonomousDatabase((CreateAutonomousDatabaseRequest) args[0]);
+			case "updateAutonomousDatabase" -> updateAutonomousDatabase((UpdateAutonomousDatabaseRequest) args[0]);
+			case "startAutonomousDatabase" -> startAutonomousDatabase((StartAutonomousDatabaseRequest) args[0]);
+			case "stopAutonomousDatabase" -> stopAutonomousDatabase((StopAutonomousDatabaseRequest) args[0]);
+			case "deleteAutonomousDatabase" -> deleteAutonomousDatabase((DeleteAutonomousDatabaseRequest) args[0]);
+			// Work Requests
+			case "getWorkRequest" -> getWorkRequest((GetWorkRequestRequest) args[0]);
+			case "listWorkRequestErrors" -> listWorkRequestErrors((ListWorkRequestErrorsRequest) args[0]);
+			// Limits
+			case "getResourceAvailability" -> getResourceAvailability((GetResourceAvailabilityRequest) args[0]);
+			// Identity
+			case "getUser" -> getUser((GetUserRequest) args[0]);
+			// client
+			case "setEndpoint" -> {
+				endpoint = (String) args[0];
+				yield null;
+			}
+			case "getEndpoint" -> endpoint;
+			case "close" -> null;
+			case "toString" -> "LiteOCIClient(" + service + ", " + endpoint + ")";
+			case "hashCode" -> System.identityHashCode(proxy);
+			case "equals" -> proxy == args[0];
+			default -> throw new UnsupportedOperationException(method.getName() + " is not available with the lite OCI client");
+		};
+	}
+
+	private ListAutonomousDatabasesResponse listAutonomousDatabases(ListAutonomousDatabasesRequest request) {
+		final Call call = new Call("GET", "/20160918/autonomousDatabases")
+				.query("compartmentId", request.getCompartmentId())
+				.query("limit", request.getLimit())
+				.query("page", request.getPage())
+				.query("sortBy", request.getSortBy() == null ? null : request.getSortBy().getValue())
+				.query("sortOrder", request.getSortOrder() == null ? null : request.getSortOrder().getValue())
+				.query("lifecycleState", request.getLifecycleState() == null ? null : request.getLifecycleState().getValue())
+				.query("dbWorkload", request.getDbWorkload() == null ? null : request.getDbWorkload().getValue())
+				.query("dbVersion", request.getDbVersion())
+				.query("displayName", request.getDisplayName());
+		final HttpResponse<byte[]> response = send(call);
+
+		return ListAutonomousDatabasesResponse.builder()
+				.__httpStatusCode__(response.statusCode())
+				.opcRequestId(header(response, "opc-request-id"))
+				.opcNextPage(header(response, "opc-next-page"))
+				.items(read(response, new TypeReference<List<AutonomousDatabaseSummary>>() {
+				}))
+				.build();
+	}
+
+	private GetAutonomousDatabaseResponse getAutonomousDatabase(GetAutonomousDatabaseRequest request) {
+		final HttpResponse<byte[]> response = send(new Call("GET", "/20160918/autonomousDatabases/" + encode(request.getAutonomousDatabaseId())));
+
+		return GetAutonomousDatabaseResponse.builder()
+				.__httpStatusCode__(response.statusCode())
+				.opcRequestId(header(response, "opc-request-id"))
+				.etag(header(response, "etag"))
+				.autonomousDatabase(read(response, AutonomousDatabase.class))
+				.build();
+	}
+
+	private CreateAutonomousDatabaseResponse createAutonomousDatabase(CreateAutonomousDatabaseRequest request) {
+		final HttpResponse<byte[]> response = send(new Call("POST", "/20160918/autonomousDatabases")
+				.header("opc-retry-token", request.getOpcRetryToken() != null ? request.getOpcRetryToken() : UUID.randomUUID().toString())
+				.body(request.getCreateAutonomousDatabaseDetails()));
+
+		return CreateAutonomousDatabaseResponse.builder()
+				.__httpStatusCode__(response.statusCode())
+				.opcRequestId(header(response, "opc-request-id"))
+				.opcWorkRequestId(header(response, "opc-work-request-id"))
+				.etag(header(response, "etag"))
+				.autonomousDatabase(read(response, AutonomousDatabase.class))
+				.build();
+	}
+
+	private UpdateAutonomousDatabaseResponse updateAutonomousDatabase(UpdateAutonomousDatabaseRequest request) {
+		final HttpResponse<byte[]> response = send(new Call("PUT", "/20160918/autonomousDatabases/" + encode(request.getAutonomousDatabaseId()))
+				.header("if-match", request.getIfMatch())
+				.body(request.getUpdateAutonomousDatabaseDetails()));
+
+		return UpdateAutonomousDatabaseResponse.builder()
+				.__httpStatusCode__(response.statusCode())
+				.opcRequestId(header(response, "opc-request-id"))
+				.opcWorkRequestId(header(response, "opc-work-request-id"))
+				.etag(header(response, "etag"))
+				.autonomousDatabase(read(response, AutonomousDatabase.class))
+				.build();
+	}
+
+	private StartAutonomousDatabaseResponse startAutonomousDatabase(StartAutonomousDatabaseRequest request) {
+		final HttpResponse<byte[]> response = send(new Call("POST", "/20160918/autonomousDatabases/" + encode(request.getAutonomousDatabaseId()) + "/actions/start")
+				.header("if-match", request.getIfMatch())
+				.body(null));
+
+		return StartAutonomousDatabaseResponse.builder()
+				.__httpStatusCode__(response.statusCode())
+				.opcRequestId(header(response, "opc-request-id"))
+				.opcWorkRequestId(header(response, "opc-work-request-id"))
+				.etag(header(response, "etag"))
+				.autonomousDatabase(read(response, AutonomousDatabase.class))
+				.build();
+	}
+
+	private StopAutonomousDatabaseResponse stopAutonomousDatabase(StopAutonomousDatabaseRequest request) {
+		final HttpResponse<byte[]> response = send(new Call("POST", "/20160918/autonomousDatabases/" + encode(request.getAutonomousDatabaseId()) + "/actions/stop")
+				.header("if-match", request.getIfMatch())
+				.body(null));
+
+		return StopAutonomousDatabaseResponse.builder()
+				.__httpStatusCode__(response.statusCode())
+				.opcRequestId(header(response, "opc-request-id"))
+				.opcWorkRequestId(header(response, "opc-work-request-id"))
+				.etag(header(response, "etag"))
+				.autonomousDatabase(read(response, AutonomousDatabase.class))
+				.build();
+	}
+
+	private DeleteAutonomousDatabaseResponse deleteAutonomousDatabase(DeleteAutonomousDatabaseRequest request) {
+		final HttpResponse<byte[]> response = send(new Call("DELETE", "/20160918/autonomousDatabases/" + encode(request.getAutonomousDatabaseId()))
+				.header("if-match", request.getIfMatch()));
+
+		return DeleteAutonomousDatabaseResponse.builder()
+				.__httpStatusCode__(response.statusCode())
+				.opcRequestId(header(response, "opc-request-id"))
+				.opcWorkRequestId(header(response, "opc-work-request-id"))
+				.build();
+	}
+
+	private GetWorkRequestResponse getWorkRequest(GetWorkRequestRequest request) {
+		final HttpResponse<byte[]> response = send(new Call("GET", "/20160918/workRequests/" + encode(request.getWorkRequestId())));
+
+		return GetWorkRequestResponse.builder()
+				.__httpStatusCode__(response.statusCode())
+				.opcRequestId(header(response, "opc-request-id"))
+				.workRequest(read(response, WorkRequest.class))
+				.build();
+	}
+
+	private ListWorkRequestErrorsResponse listWorkRequestErrors(ListWorkRequestErrorsRequest request) {
+		final HttpResponse<byte[]> response = send(new Call("GET", "/20160918/workRequests/" + encode(request.getWorkRequestId()) + "/errors")
+				.query("page", request.getPage())
+				.query("limit", request.getLimit())
+				.header("opc-request-id", request.getOpcRequestId()));
+
+		return ListWorkRequestErrorsResponse.builder()
+				.__httpStatusCode__(response.statusCode())
+				.opcRequestId(header(response, "opc-request-id"))
+				.opcNextPage(header(response, "opc-next-page"))
+				.items(read(response, new TypeReference<List<WorkRequestError>>() {
+				}))
+				.build();
+	}
+
+	private GetResourceAvailabilityResponse getResourceAvailability(GetResourceAvailabilityRequest request) {
+		final HttpResponse<byte[]> response = send(new Call("GET", "/20190729/services/" + encode(request.getServiceName()) + "/limits/" + encode(request.getLimitName()) + "/resourceAvailability")
+				.query("compartmentId", request.getCompartmentId())
+				.query("availabilityDomain", request.getAvailabilityDomain()));
+
+		return GetResourceAvailabilityResponse.builder()
+				.__httpStatusCode__(response.statusCode())
+				.opcRequestId(header(response, "opc-request-id"))
+				.resourceAvailability(read(response, ResourceAvailability.class))
+				.build();
+	}
+
+	private GetUserResponse getUser(GetUserRequest request) {
+		final HttpResponse<byte[]> response = send(new Call("GET", "/20160918/users/" + encode(request.getUserId())));
+
+		return GetUserResponse.builder()
+				.__httpStatusCode__(response.statusCode())
+				.opcRequestId(header(response, "opc-request-id"))
+				.etag(header(response, "etag"))
+				.user(read(response, User.class))
+				.build();
+	}
+
+	/**
+	 * Sends the call, retrying throttled calls (429) and, for GET, unavailable services (5xx) and network errors.
+	 *
+	 * @return the successful response
+	 * @throws BmcException as the SDK does: with the status code, service code and message of the error, or status
+	 *                      code -1 if the service couldn't be reached
+	 */
+	private HttpResponse<byte[]> send(Call call) {
+		final URI uri = URI.create(endpoint + call.path + call.query);
+		final String operation = call.method + " " + OCID.matcher(call.path).replaceAll("{id}");
+		final boolean idempotent = "GET".equals(call.method);
+
+		for (int tries = 1; ; tries++) {
+			final HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+					.timeout(Duration.ofMillis(OCIClients.READ_TIMEOUT))
+					.header("accept", "application/json");
+			call.headers.forEach(builder::header);
+			signer.sign(builder, call.method, uri, call.body);
+			builder.method(call.method, call.body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(call.body));
+
+			final long startTime = System.nanoTime();
+			final HttpResponse<byte[]> response;
+			try {
+				response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+			}
+			catch (IOException e) {
+				if (idempotent && tries < MAX_TRIES) {
+					backoff(tries);
+					continue;
+				}
+				throw new BmcException(false, service + " unreachable: " + e.getMessage(), e, null);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new BmcException(false, "Interrupted", e, null);
+			}
+
+			Metrics.timer("oci_request_seconds", "service", service, "operation", operation).recordSince(startTime);
+			Metrics.counter("oci_requests_total", "service", service, "operation", operation, "status", String.valueOf(response.statusCode())).increment();
+			OCIClients.recordFirstRequest();
+
+			final int status = response.statusCode();
+			if (status >= 200 && status < 300) {
+				return response;
+			}
+
+			if (tries < MAX_TRIES && (status == 429 || (idempotent && status >= 500))) {
+				backoff(tries);
+				continue;
+			}
+
+			throw toException(response);
+		}
+	}
+
+	private static void backoff(int tries) {
+		final long delay = 1000L << (tries - 1);
+		Utils.sleep(delay + ThreadLocalRandom.current().nextLong(delay / 2L + 1L));
+	}
+
+	private static BmcException toException(HttpResponse<byte[]> response) {
+		String code = "Unknown";
+		String message = "";
+		try {
+			final JsonNode error = mapper.readTree(response.body());
+			code = error.path("code").asText(code);
+			message = error.path("message").asText(message);
+		}
+		catch (IOException | RuntimeException ignored) {
+		}
+
+		return new BmcException(response.statusCode(), code, message, header(response, "opc-request-id"));
+	}
+
+	private static <T> T read(HttpResponse<byte[]> response, Class<T> type) {
+		try {
+			return mapper.readValue(response.body(), type);
+		}
+		catch (IOException e) {
+			throw new BmcException(false, "Unexpected response: " + e.getMessage(), e, header(response, "opc-request-id"));
+		}
+	}
+
+	private static <T> T read(HttpResponse<byte[]> response, TypeReference<T> type) {
+		try {
+			return mapper.readValue(response.body(), type);
+		}
+		catch (IOException e) {
+			throw new BmcException(false, "Unexpected response: " + e.getMessage(), e, header(response, "opc-request-id"));
+		}
+	}
+
+	private static String header(HttpResponse<?> response, String name) {
+		return response.headers().firstValue(name).orElse(null);
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+	}
+
+	/**
+	 * Method, path, query parameters, headers and JSON body of a call.
+	 */
+	private static final class Call {
+		final String method;
+		final String path;
+		final StringBuilder query = new StringBuilder();
+		final Map<String, String> headers = new LinkedHashMap<>();
+		byte[] body;
+
+		Call(String method, String path) {
+			this.method = method;
+			this.path = path;
+		}
+
+		Call query(String name, Object value) {
+			if (value != null) {
+				query.append(query.length() == 0 ? '?' : '&').append(name).append('=').append(encode(value.toString()));
+			}
+			return this;
+		}
+
+		Call header(String name, String value) {
+			if (value != null) {
+				headers.put(name, value);
+			}
+			return this;
+		}
+
+		/**
+		 * @param details request body, null for an empty JSON body
+		 */
+		Call body(Object details) {
+			try {
+				body = details == null ? new byte[0] : mapper.writeValueAsBytes(details);
+			}
+			catch (IOException e) {
+				throw new IllegalArgumentException("Can't serialize " + details.getClass().getSimpleName(), e);
+			}
+			return this;
+		}
+	}
+}
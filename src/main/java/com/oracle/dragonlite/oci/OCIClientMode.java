@@ -0,0 +1,15 @@
+package com.oracle.dragonlite.oci;
+
+/**
+ * Selects the implementation of the OCI clients: the SDK clients (default) or the {@link LiteOCIClient} when the
+ * <code>dragonlite.oci.client</code> system property is <code>lite</code>.
+ * <p>
+ * The native image of the <code>lite-oci</code> profile initializes this class at build time: the constant is then
+ * folded and the SDK HTTP stack (Jersey) is unreachable, hence left out of the image.
+ */
+final class OCIClientMode {
+	static final boolean LITE = "lite".equalsIgnoreCase(System.getProperty("dragonlite.oci.client"));
+
+	private OCIClientMode() {
+	}
+}
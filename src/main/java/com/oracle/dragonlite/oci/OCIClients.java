@@ -0,0 +1,241 @@
+package com.oracle.dragonlite.oci;
+
+import com.oracle.bmc.ClientConfiguration;
+import com.oracle.bmc.Region;
+import com.oracle.bmc.auth.BasicAuthenticationDetailsProvider;
+import com.oracle.bmc.database.Database;
+import com.oracle.bmc.database.DatabaseClient;
+import com.oracle.bmc.identity.Identity;
+import com.oracle.bmc.identity.IdentityClient;
+import com.oracle.bmc.limits.Limits;
+import com.oracle.bmc.limits.LimitsClient;
+import com.oracle.bmc.workrequests.WorkRequest;
+import com.oracle.bmc.workrequests.WorkRequestClient;
+import com.oracle.dragonlite.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Registry of the OCI clients used by a session: each client is created on first use, then shared, and all of them
+ * are closed together (releasing their connection pools). Their calls are recorded in the {@link
+ * com.oracle.dragonlite.metrics.Metrics}.
+ * <p>
+ * All the clients can be pointed to a single endpoint instead of the regional ones with the
+ * <code>dragonlite.oci.endpoint</code> system property (e.g. a local simulator of the OCI services).
+ * <p>
+ * Native images built with the <code>lite-oci</code> profile use the {@link LiteOCIClient} instead of the SDK clients
+ * (see {@link OCIClientMode}).
+ */
+public final class OCIClients implements AutoCloseable {
+	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
+
+	private static final int CONNECTION_TIMEOUT = 10_000;
+	static final int READ_TIMEOUT = 60_000;
+
+	public static final String ENDPOINT_PROPERTY = "dragonlite.oci.endpoint";
+
+	private static final AtomicBoolean firstRequestDone = new AtomicBoolean();
+
+	private final BasicAuthenticationDetailsProvider provider;
+	private final String region;
+	private final String endpoint;
+
+	/**
+	 * Transport configuration shared by all the clients.
+	 */
+	private final ClientConfiguration configuration;
+
+	private Database databaseClient;
+	private WorkRequest workRequestClient;
+	private Limits limitsClient;
+	private Identity identityClient;
+	private LifecycleWatcher lifecycleWatcher;
+
+	private RequestSigner signer;
+
+	private boolean closed;
+
+	public OCIClients(BasicAuthenticationDetailsProvider provider, String region) {
+		this.provider = provider;
+		this.region = region;
+		this.endpoint = System.getProperty(ENDPOINT_PROPERTY);
+		if (endpoint != null) {
+			logger.warn("OCI endpoint overridden: " + endpoint);
+		}
+		this.configuration = ClientConfiguration.builder()
+				.connectionTimeoutMillis(CONNECTION_TIMEOUT)
+				.readTimeoutMillis(READ_TIMEOUT)
+				.build();
+	}
+
+	public synchronized Database getDatabaseClient() {
+		checkNotClosed();
+		if (databaseClient == null && OCIClientMode.LITE) {
+			databaseClient = LiteOCIClient.create(Database.class, "database", liteEndpoint("database.%s.%s"), getSigner(), Duration.ofMillis(CONNECTION_TIMEOUT));
+		}
+		else if (databaseClient == null) {
+			final DatabaseClient client = DatabaseClient.builder()
+					.configuration(configuration)
+					.additionalClientConfigurator(new OCIMetricsConfigurator("database"))
+					.build(provider);
+			if (endpoint != null) {
+				client.setEndpoint(endpoint);
+			}
+			else {
+				client.setRegion(region);
+			}
+			databaseClient = client;
+		}
+
+		return databaseClient;
+	}
+
+	public synchronized WorkRequest getWorkRequestClient() {
+		checkNotClosed();
+		if (workRequestClient == null && OCIClientMode.LITE) {
+			workRequestClient = LiteOCIClient.create(WorkRequest.class, "workrequests", liteEndpoint("iaas.%s.%s"), getSigner(), Duration.ofMillis(CONNECTION_TIMEOUT));
+		}
+		else if (workRequestClient == null) {
+			final WorkRequestClient client = WorkRequestClient.builder()
+					.configuration(configuration)
+					.additionalClientConfigurator(new OCIMetricsConfigurator("workrequests"))
+					.build(provider);
+			if (endpoint != null) {
+				client.setEndpoint(endpoint);
+			}
+			else {
+				client.setRegion(region);
+			}
+			workRequestClient = client;
+		}
+
+		return workRequestClient;
+	}
+
+	public synchronized Limits getLimitsClient() {
+		checkNotClosed();
+		if (limitsClient == null && OCIClientMode.LITE) {
+			limitsClient = LiteOCIClient.create(Limits.class, "limits", liteEndpoint("limits.%s.oci.%s"), getSigner(), Duration.ofMillis(CONNECTION_TIMEOUT));
+		}
+		else if (limitsClient == null) {
+			final LimitsClient client = LimitsClient.builder()
+					.configuration(configuration)
+					.additionalClientConfigurator(new OCIMetricsConfigurator("limits"))
+					.build(provider);
+			if (endpoint != null) {
+				client.setEndpoint(endpoint);
+			}
+			else {
+				client.setRegion(region);
+			}
+			limitsClient = client;
+		}
+
+		return limitsClient;
+	}
+
+	public synchronized Identity getIdentityClient() {
+		checkNotClosed();
+		if (identityClient == null && OCIClientMode.LITE) {
+			identityClient = LiteOCIClient.create(Identity.class, "identity", liteEndpoint("identity.%s.oci.%s"), getSigner(), Duration.ofMillis(CONNECTION_TIMEOUT));
+		}
+		else if (identityClient == null) {
+			final IdentityClient client = IdentityClient.builder()
+					.configuration(configuration)
+					.additionalClientConfigurator(new OCIMetricsConfigurator("identity"))
+					.build(provider);
+			if (endpoint != null) {
+				client.setEndpoint(endpoint);
+			}
+			else {
+				client.setRegion(region);
+			}
+			identityClient = client;
+		}
+
+		return identityClient;
+	}
+
+	/**
+	 * @return the lifecycle watcher shared by the sessions using these clients
+	 */
+	public synchronized LifecycleWatcher getLifecycleWatcher() {
+		checkNotClosed();
+		if (lifecycleWatcher == null) {
+			lifecycleWatcher = new LifecycleWatcher(getDatabaseClient());
+		}
+
+		return lifecycleWatcher;
+	}
+
+	/**
+	 * @param host format of the host name of the service, with the region and the second level domain of its realm
+	 * @return the endpoint of a service for the {@link LiteOCIClient}
+	 */
+	private String liteEndpoint(String host) {
+		if (endpoint != null) {
+			return endpoint;
+		}
+
+		final Region ociRegion = Region.fromRegionId(region);
+		return "https://" + String.format(host, ociRegion.getRegionId(), ociRegion.getRealm().getSecondLevelDomain());
+	}
+
+	private RequestSigner getSigner() {
+		if (signer == null) {
+			signer = new RequestSigner(provider);
+		}
+		return signer;
+	}
+
+	@Override
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		close(lifecycleWatcher);
+		close(databaseClient);
+		close(workRequestClient);
+		close(limitsClient);
+		close(identityClient);
+
+		lifecycleWatcher = null;
+		databaseClient = null;
+		workRequestClient = null;
+		limitsClient = null;
+		identityClient = null;
+	}
+
+	private static void close(AutoCloseable client) {
+		if (client != null) {
+			try {
+				client.close();
+			}
+			catch (Exception e) {
+				logger.warn("Can't close OCI client: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Records once, as the <code>startup_first_oci_request_seconds</code> timer, the time from the start of the process
+	 * (exec) to the response of its first OCI request.
+	 */
+	static void recordFirstRequest() {
+		if (!firstRequestDone.get() && firstRequestDone.compareAndSet(false, true)) {
+			ProcessHandle.current().info().startInstant().ifPresent(processStart ->
+					Metrics.timer("startup_first_oci_request_seconds").recordMicros((System.currentTimeMillis() - processStart.toEpochMilli()) * 1000L));
+		}
+	}
+
+	private void checkNotClosed() {
+		if (closed) {
+			throw new IllegalStateException("OCI clients already closed");
+		}
+	}
+}
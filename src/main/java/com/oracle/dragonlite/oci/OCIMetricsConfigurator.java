@@ -0,0 +1,60 @@
+package com.oracle.dragonlite.oci;
+
+import com.oracle.bmc.http.ClientConfigurator;
+import com.oracle.dragonlite.metrics.Metrics;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import java.util.regex.Pattern;
+
+/**
+ * Registers request/response filters on the HTTP client of an OCI service client: every call (including the retries
+ * made by the SDK) is timed and counted per service, operation (method and path, OCIDs removed) and status code.
+ */
+final class OCIMetricsConfigurator implements ClientConfigurator {
+	private static final String START_TIME = "dragonlite.startTime";
+	private static final Pattern OCID = Pattern.compile("ocid1\\.[^/]+");
+
+	private final String service;
+
+	OCIMetricsConfigurator(final String service) {
+		this.service = service;
+	}
+
+	@Override
+	public void customizeBuilder(ClientBuilder builder) {
+	}
+
+	@Override
+	public void customizeClient(Client client) {
+		client.register(new MetricsFilter(service));
+	}
+
+	private static final class MetricsFilter implements ClientRequestFilter, ClientResponseFilter {
+		private final String service;
+
+		MetricsFilter(final String service) {
+			this.service = service;
+		}
+
+		@Override
+		public void filter(ClientRequestContext request) {
+			request.setProperty(START_TIME, System.nanoTime());
+		}
+
+		@Override
+		public void filter(ClientRequestContext request, ClientResponseContext response) {
+			final String operation = request.getMethod() + " " + OCID.matcher(request.getUri().getPath()).replaceAll("{id}");
+
+			if (request.getProperty(START_TIME) instanceof Long startTime) {
+				Metrics.timer("oci_request_seconds", "service", service, "operation", operation).recordSince(startTime);
+			}
+			Metrics.counter("oci_requests_total", "service", service, "operation", operation, "status", String.valueOf(response.getStatus())).increment();
+			OCIClients.recordFirstRequest();
+		}
+	}
+}
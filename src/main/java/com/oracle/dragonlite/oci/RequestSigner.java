@@ -0,0 +1,177 @@
+package com.oracle.dragonlite.oci;
+
+import com.oracle.bmc.auth.BasicAuthenticationDetailsProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Signs HTTP requests for the OCI APIs (draft-cavage HTTP signatures, rsa-sha256) with the API key of the
+ * configuration file.
+ * <p>
+ * Only unencrypted PEM keys are supported (PKCS#8 or PKCS#1).
+ */
+final class RequestSigner {
+	private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+
+	// AlgorithmIdentifier of rsaEncryption, to wrap PKCS#1 keys into PKCS#8
+	private static final byte[] RSA_ALGORITHM = {0x30, 0x0d, 0x06, 0x09, 0x2a, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xf7, 0x0d, 0x01, 0x01, 0x01, 0x05, 0x00};
+
+	private final String keyId;
+	private final PrivateKey privateKey;
+	private final Clock clock;
+
+	RequestSigner(BasicAuthenticationDetailsProvider provider) {
+		this(provider.getKeyId(), readPrivateKey(provider), Clock.systemUTC());
+	}
+
+	/**
+	 * @param clock clock of the x-date header
+	 */
+	RequestSigner(String keyId, PrivateKey privateKey, Clock clock) {
+		this.keyId = keyId;
+		this.privateKey = privateKey;
+		this.clock = clock;
+	}
+
+	private static PrivateKey readPrivateKey(BasicAuthenticationDetailsProvider provider) {
+		if (provider.getPassphraseCharacters() != null) {
+			throw new IllegalStateException("Encrypted API keys are not supported by the lite OCI client");
+		}
+
+		try (InputStream in = provider.getPrivateKey()) {
+			return readPrivateKey(new String(in.readAllBytes(), StandardCharsets.US_ASCII));
+		}
+		catch (IOException | GeneralSecurityException e) {
+			throw new IllegalStateException("Can't read the API key", e);
+		}
+	}
+
+	/**
+	 * Adds the date, content and Authorization headers to the request.
+	 *
+	 * @param body the body of a POST or PUT request, null otherwise
+	 */
+	void sign(HttpRequest.Builder builder, String method, URI uri, byte[] body) {
+		final String date = HTTP_DATE.format(ZonedDateTime.now(clock));
+		final StringBuilder headers = new StringBuilder("x-date (request-target) host");
+		final StringBuilder signingString = new StringBuilder()
+				.append("x-date: ").append(date).append('\n')
+				.append("(request-target): ").append(method.toLowerCase()).append(' ').append(uri.getRawPath())
+				.append(uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "").append('\n')
+				.append("host: ").append(host(uri));
+		builder.header("x-date", date);
+
+		if (body != null) {
+			final String contentSha256 = Base64.getEncoder().encodeToString(sha256(body));
+			headers.append(" content-length content-type x-content-sha256");
+			signingString.append('\n')
+					.append("content-length: ").append(body.length).append('\n')
+					.append("content-type: application/json").append('\n')
+					.append("x-content-sha256: ").append(contentSha256);
+			builder.header("content-type", "application/json")
+					.header("x-content-sha256", contentSha256);
+		}
+
+		final String signature;
+		try {
+			final Signature rsa = Signature.getInstance("SHA256withRSA");
+			rsa.initSign(privateKey);
+			rsa.update(signingString.toString().getBytes(StandardCharsets.UTF_8));
+			signature = Base64.getEncoder().encodeToString(rsa.sign());
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Can't sign the request", e);
+		}
+
+		builder.header("Authorization", String.format("Signature version=\"1\",headers=\"%s\",keyId=\"%s\",algorithm=\"rsa-sha256\",signature=\"%s\"",
+				headers, keyId, signature));
+	}
+
+	/**
+	 * @return the Host header sent by java.net.http for this URI (port only if not the default one)
+	 */
+	private static String host(URI uri) {
+		final int port = uri.getPort();
+		final boolean defaultPort = port == -1 || ("https".equalsIgnoreCase(uri.getScheme()) ? port == 443 : port == 80);
+		return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+	}
+
+	private static byte[] sha256(byte[] data) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(data);
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static PrivateKey readPrivateKey(String pem) throws GeneralSecurityException {
+		if (pem.contains("ENCRYPTED")) {
+			throw new GeneralSecurityException("Encrypted API keys are not supported by the lite OCI client");
+		}
+
+		byte[] der = Base64.getMimeDecoder().decode(pem.replaceAll("-----[A-Z ]+-----", "").trim());
+		if (pem.contains("BEGIN RSA PRIVATE KEY")) {
+			der = toPKCS8(der);
+		}
+
+		return KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(der));
+	}
+
+	/**
+	 * Wraps a PKCS#1 RSAPrivateKey into a PKCS#8 PrivateKeyInfo: SEQUENCE { INTEGER 0, AlgorithmIdentifier, OCTET STRING }.
+	 */
+	private static byte[] toPKCS8(byte[] pkcs1) {
+		final ByteArrayOutputStream content = new ByteArrayOutputStream(pkcs1.length + 32);
+		content.write(0x02);
+		content.write(0x01);
+		content.write(0x00);
+		content.writeBytes(RSA_ALGORITHM);
+		content.write(0x04);
+		writeLength(content, pkcs1.length);
+		content.writeBytes(pkcs1);
+
+		final ByteArrayOutputStream pkcs8 = new ByteArrayOutputStream(content.size() + 4);
+		pkcs8.write(0x30);
+		writeLength(pkcs8, content.size());
+		pkcs8.writeBytes(content.toByteArray());
+		return pkcs8.toByteArray();
+	}
+
+	private static void writeLength(ByteArrayOutputStream out, int length) {
+		if (length < 0x80) {
+			out.write(length);
+		}
+		else if (length < 0x100) {
+			out.write(0x81);
+			out.write(length);
+		}
+		else if (length < 0x10000) {
+			out.write(0x82);
+			out.write(length >> 8);
+			out.write(length & 0xff);
+		}
+		else {
+			out.write(0x83);
+			out.write(length >> 16);
+			out.write((length >> 8) & 0xff);
+			out.write(length & 0xff);
+		}
+	}
+}
@@ -0,0 +1,305 @@
+package com.oracle.dragonlite.oci;
+
+import com.oracle.bmc.database.Database;
+import com.oracle.bmc.database.model.AutonomousDatabase;
+import com.oracle.bmc.database.requests.GetAutonomousDatabaseRequest;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.workrequests.model.WorkRequest;
+import com.oracle.bmc.workrequests.model.WorkRequestError;
+import com.oracle.bmc.workrequests.requests.GetWorkRequestRequest;
+import com.oracle.bmc.workrequests.requests.ListWorkRequestErrorsRequest;
+import com.oracle.bmc.workrequests.responses.GetWorkRequestResponse;
+import com.oracle.bmc.workrequests.responses.ListWorkRequestErrorsResponse;
+import com.oracle.dragonlite.exception.DLException;
+import com.oracle.dragonlite.metrics.Metrics;
+import com.oracle.dragonlite.tracing.Span;
+import com.oracle.dragonlite.tracing.Tracer;
+import com.oracle.dragonlite.util.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Follows an OCI work request until it completes, then confirms the lifecycle state of the Autonomous Database.
+ * <p>
+ * The poll interval adapts to the progress reported by the work request: the remaining time is extrapolated from
+ * <code>percentComplete</code> and the elapsed time, and the next poll is scheduled for a fraction of it (bounded,
+ * with jitter so that concurrent trackers don't poll in lockstep). Throttled (429) or failing (5xx) polls back off
+ * exponentially.
+ * <p>
+ * Failures are detected by polling the work request alone. Once it succeeded, the database is confirmed by one
+ * GetAutonomousDatabase; only if it didn't reach its state yet, it is waited for by the {@link LifecycleWatcher}, if
+ * any (whose polls are shared with the other databases in flight, so it is only given when there are several).
+ */
+public class WorkRequestTracker {
+	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
+
+	static final long MIN_POLL_INTERVAL = 1000L;
+	static final long MAX_POLL_INTERVAL = 15000L;
+	static final long MAX_BACKOFF_INTERVAL = 60000L;
+	static final long LIFECYCLE_STATE_TIMEOUT = 20 * 60 * 1000L;
+	private static final double JITTER = 0.15d;
+
+	private final com.oracle.bmc.workrequests.WorkRequest workRequestClient;
+	private final Database dbClient;
+	private final LifecycleWatcher lifecycleWatcher;
+
+	public WorkRequestTracker(com.oracle.bmc.workrequests.WorkRequest workRequestClient, Database dbClient) {
+		this(workRequestClient, dbClient, null);
+	}
+
+	/**
+	 * @param lifecycleWatcher watcher shared with the other databases in flight, null to poll each database
+	 */
+	public WorkRequestTracker(com.oracle.bmc.workrequests.WorkRequest workRequestClient, Database dbClient, LifecycleWatcher lifecycleWatcher) {
+		this.workRequestClient = workRequestClient;
+		this.dbClient = dbClient;
+		this.lifecycleWatcher = lifecycleWatcher;
+	}
+
+	/**
+	 * Waits for the work request to succeed, then for the database to reach the expected lifecycle state.
+	 *
+	 * @param workRequestId        work request to follow
+	 * @param operation            name of the operation for logging purpose
+	 * @param failureErrorCode     error code if the work request fails
+	 * @param autonomousDatabaseId database to check once the work request succeeded
+	 * @param expectedState        lifecycle state expected once the work request succeeded
+	 * @param waitErrorCode        error code if the database doesn't reach the expected state
+	 * @return the database in its expected lifecycle state
+	 */
+	public AutonomousDatabase track(String workRequestId, String operation, int failureErrorCode,
+									String autonomousDatabaseId, AutonomousDatabase.LifecycleState expectedState, int waitErrorCode) {
+		waitForWorkRequest(workRequestId, operation, failureErrorCode);
+		return confirmLifecycleState(autonomousDatabaseId, expectedState, waitErrorCode);
+	}
+
+	public void waitForWorkRequest(String workRequestId, String operation, int failureErrorCode) {
+		try (Span span = Tracer.start("work request " + operation)) {
+			span.setAttribute("oci.work_request.id", workRequestId);
+			try {
+				span.setAttribute("polls", pollWorkRequest(workRequestId, operation, failureErrorCode));
+			}
+			catch (RuntimeException e) {
+				span.setError(e);
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * @return the number of polls
+	 */
+	private int pollWorkRequest(String workRequestId, String operation, int failureErrorCode) {
+		final GetWorkRequestRequest getWorkRequestRequest = GetWorkRequestRequest.builder().workRequestId(workRequestId).build();
+		final long startTime = System.currentTimeMillis();
+		long backoff = 0L;
+		int polls = 0;
+
+		while (true) {
+			final GetWorkRequestResponse getWorkRequestResponse;
+			Metrics.counter("oci_work_request_polls_total", "operation", operation).increment();
+			polls++;
+			try {
+				getWorkRequestResponse = workRequestClient.getWorkRequest(getWorkRequestRequest);
+				backoff = 0L;
+			}
+			catch (BmcException e) {
+				if (!isTransient(e)) {
+					throw e;
+				}
+				Metrics.counter("oci_poll_backoffs_total", "operation", operation).increment();
+				backoff = nextBackoff(backoff);
+				logger.warn(String.format("%s polling throttled (%d), retrying in %d ms", operation, e.getStatusCode(), backoff));
+				Utils.sleep(backoff);
+				continue;
+			}
+
+			final WorkRequest workRequest = getWorkRequestResponse.getWorkRequest();
+			switch (workRequest.getStatus()) {
+				case Succeeded:
+					logger.debug(operation + " succeeded after " + Utils.getDurationSince(startTime));
+					recordDuration(operation, workRequest.getStatus(), startTime);
+					return polls;
+				case Failed:
+				case Canceling:
+				case Canceled:
+					recordDuration(operation, workRequest.getStatus(), startTime);
+					logger.error(listErrors(workRequestId, getWorkRequestResponse.getOpcRequestId()));
+					throw new DLException(failureErrorCode);
+				case Accepted:
+					logger.debug(operation + " accepted");
+					break;
+				case InProgress:
+					logger.debug(operation + " in progress: " + workRequest.getPercentComplete());
+					break;
+			}
+
+			Utils.sleep(nextPollInterval(workRequest.getPercentComplete(), System.currentTimeMillis() - startTime));
+		}
+	}
+
+	/**
+	 * Checks the lifecycle state once; the database normally already reached it when its work request succeeded.
+	 * Keeps waiting (with the lifecycle watcher, else polling with the same adaptive interval) only if it didn't.
+	 */
+	public AutonomousDatabase confirmLifecycleState(String autonomousDatabaseId, AutonomousDatabase.LifecycleState expectedState, int waitErrorCode) {
+		final AutonomousDatabase watched = awaitWatch(startWatch(autonomousDatabaseId, expectedState), autonomousDatabaseId, expectedState);
+		return watched != null ? watched : confirmPolling(autonomousDatabaseId, expectedState, waitErrorCode);
+	}
+
+	/**
+	 * @return the watch of the database by the lifecycle watcher, null without watcher or once it is closed
+	 */
+	private CompletableFuture<AutonomousDatabase> startWatch(String autonomousDatabaseId, AutonomousDatabase.LifecycleState expectedState) {
+		if (lifecycleWatcher == null) {
+			return null;
+		}
+
+		try {
+			return lifecycleWatcher.watch(autonomousDatabaseId, expectedState);
+		}
+		catch (IllegalStateException e) {
+			logger.debug("lifecycle watcher closed, polling " + autonomousDatabaseId);
+			return null;
+		}
+	}
+
+	/**
+	 * Waits for the database with the lifecycle watcher.
+	 *
+	 * @return the database in the expected state, null without watch or if the database didn't reach it (the caller
+	 * then falls back to its own polls, which report the failure)
+	 */
+	private AutonomousDatabase awaitWatch(CompletableFuture<AutonomousDatabase> watch, String autonomousDatabaseId,
+										  AutonomousDatabase.LifecycleState expectedState) {
+		if (watch == null) {
+			return null;
+		}
+
+		try (Span span = Tracer.start("lifecycle watch " + expectedState.getValue())) {
+			span.setAttribute("oci.database.id", autonomousDatabaseId);
+			try {
+				return watch.get(LIFECYCLE_STATE_TIMEOUT, TimeUnit.MILLISECONDS);
+			}
+			catch (ExecutionException | TimeoutException | CancellationException e) {
+				watch.cancel(false);
+				span.setError(e);
+				logger.warn("lifecycle watch of " + autonomousDatabaseId + " failed: " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+				return null;
+			}
+			catch (InterruptedException e) {
+				watch.cancel(false);
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for database " + autonomousDatabaseId, e);
+			}
+		}
+	}
+
+	private AutonomousDatabase confirmPolling(String autonomousDatabaseId, AutonomousDatabase.LifecycleState expectedState, int waitErrorCode) {
+		try (Span span = Tracer.start("lifecycle state " + expectedState.getValue())) {
+			span.setAttribute("oci.database.id", autonomousDatabaseId);
+			try {
+				return pollLifecycleState(autonomousDatabaseId, expectedState, waitErrorCode, span);
+			}
+			catch (RuntimeException e) {
+				span.setError(e);
+				throw e;
+			}
+		}
+	}
+
+	private AutonomousDatabase pollLifecycleState(String autonomousDatabaseId, AutonomousDatabase.LifecycleState expectedState, int waitErrorCode, Span span) {
+		final GetAutonomousDatabaseRequest getRequest = GetAutonomousDatabaseRequest.builder().autonomousDatabaseId(autonomousDatabaseId).build();
+		final long startTime = System.currentTimeMillis();
+		long backoff = 0L;
+		int polls = 0;
+
+		try {
+			while (true) {
+				Metrics.counter("oci_lifecycle_state_polls_total", "state", expectedState.getValue()).increment();
+				span.setAttribute("polls", ++polls);
+				try {
+					final AutonomousDatabase autonomousDatabase = dbClient.getAutonomousDatabase(getRequest).getAutonomousDatabase();
+					backoff = 0L;
+					if (autonomousDatabase.getLifecycleState() == expectedState) {
+						return autonomousDatabase;
+					}
+					logger.debug("Waiting for database to be " + expectedState + ", currently " + autonomousDatabase.getLifecycleState());
+				}
+				catch (BmcException e) {
+					if (!isTransient(e)) {
+						throw e;
+					}
+					backoff = nextBackoff(backoff);
+				}
+
+				final long elapsed = System.currentTimeMillis() - startTime;
+				if (elapsed > LIFECYCLE_STATE_TIMEOUT) {
+					throw new IllegalStateException("Database didn't reach state " + expectedState + " after " + Utils.getDurationSince(startTime));
+				}
+
+				Utils.sleep(backoff > 0 ? backoff : nextPollInterval(null, elapsed));
+			}
+		}
+		catch (Exception e) {
+			throw new DLException(waitErrorCode, e);
+		}
+	}
+
+	/**
+	 * Computes the next poll interval: a third of the extrapolated remaining time when progress is known, else a tenth
+	 * of the time already elapsed; bounded by [MIN_POLL_INTERVAL, MAX_POLL_INTERVAL] and jittered.
+	 */
+	static long nextPollInterval(Float percentComplete, long elapsed) {
+		long interval;
+		if (percentComplete != null && percentComplete > 0f && percentComplete < 100f) {
+			final double remaining = elapsed * (100d - percentComplete) / percentComplete;
+			interval = (long) (remaining / 3d);
+		}
+		else {
+			interval = elapsed / 10L;
+		}
+
+		interval = Math.max(MIN_POLL_INTERVAL, Math.min(MAX_POLL_INTERVAL, interval));
+
+		return jitter(interval);
+	}
+
+	static long nextBackoff(long previous) {
+		return previous == 0L ? jitter(2 * MIN_POLL_INTERVAL) : Math.min(MAX_BACKOFF_INTERVAL, jitter(previous * 2));
+	}
+
+	private static long jitter(long interval) {
+		return Math.max(MIN_POLL_INTERVAL, (long) (interval * (1d + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER))));
+	}
+
+	private static void recordDuration(String operation, WorkRequest.Status status, long startTime) {
+		Metrics.timer("oci_work_request_seconds", "operation", operation, "status", status.getValue())
+				.recordMicros((System.currentTimeMillis() - startTime) * 1000L);
+	}
+
+	static boolean isTransient(BmcException e) {
+		return e.getStatusCode() == 429 || e.getStatusCode() >= 500 || e.getStatusCode() == -1;
+	}
+
+	private String listErrors(String workRequestId, String opcRequestId) {
+		final ListWorkRequestErrorsResponse response = workRequestClient.listWorkRequestErrors(ListWorkRequestErrorsRequest.builder().workRequestId(workRequestId).opcRequestId(opcRequestId).build());
+		final StringBuilder errors = new StringBuilder();
+		int i = 0;
+		for (WorkRequestError e : response.getItems()) {
+			if (i > 0) {
+				errors.append("\n");
+			}
+			errors.append(e.getMessage());
+			i++;
+		}
+		return errors.toString();
+	}
+}
@@ -1,22 +1,42 @@
 package com.oracle.dragonlite.rest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.oracle.dragonlite.exception.DLException;
+import com.oracle.dragonlite.metrics.Metrics;
 import com.oracle.dragonlite.util.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.net.ProxySelector;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.oracle.dragonlite.Main.MAX_TRIES;
 
@@ -26,6 +46,21 @@ import static com.oracle.dragonlite.Main.MAX_TRIES;
 public class ADBRESTService {
 	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
 
+	public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
+	public static final int DEFAULT_BATCH_SIZE = 50;
+
+	/**
+	 * Longest delay honored from a Retry-After header (milliseconds).
+	 */
+	static final long MAX_RETRY_AFTER = 5_000L;
+
+	private static final Pattern PLSQL_BLOCK = Pattern.compile("(DECLARE|BEGIN|CREATE\\s+(OR\\s+REPLACE\\s+)?((EDITIONABLE|NONEDITIONABLE)\\s+)?(PROCEDURE|FUNCTION|PACKAGE|TRIGGER|TYPE))\\b", Pattern.CASE_INSENSITIVE);
+
+	private static final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	private static final ORDSResponseParser responseParser = new ORDSResponseParser(mapper);
+
 	/**
 	 * URL of the service.
 	 */
@@ -48,7 +83,23 @@ public class ADBRESTService {
 	 */
 	private final String password;
 
+	/**
+	 * SQL service URI and BASIC authentication header, computed once.
+	 */
+	private final URI uriSQLService;
+
+	private final String authorization;
+
+	/**
+	 * Caps the number of statements sent concurrently by {@link #executeAsync(String, int)}.
+	 */
+	private final ConcurrencyLimiter limiter;
+
 	public ADBRESTService(final String sqlDevWebUrl, final String user, final String password) {
+		this(sqlDevWebUrl, user, password, DEFAULT_MAX_CONCURRENT_REQUESTS);
+	}
+
+	public ADBRESTService(final String sqlDevWebUrl, final String user, final String password, final int maxConcurrentRequests) {
 		final String url = sqlDevWebUrl;
 		int ordsPos = url.indexOf("/ords/");
 		this.urlPrefix = url.substring(0, ordsPos + 6) + user.toLowerCase() + "/";
@@ -56,6 +107,9 @@ public class ADBRESTService {
 		this.urlSODAService = this.urlPrefix + "soda/latest/";
 		this.user = user;
 		this.password = password;
+		this.uriSQLService = URI.create(urlSQLService);
+		this.authorization = basicAuth(user, password);
+		this.limiter = new ConcurrencyLimiter(maxConcurrentRequests);
 	}
 
 	public String getUrlPrefix() {
@@ -73,88 +127,471 @@ public class ADBRESTService {
 	public String execute(final String command, int retryNumber) {
 		// https://docs.oracle.com/en/database/oracle/oracle-rest-data-services/20.2/aelig/rest-enabled-sql-service.html
 		try {
-			final HttpRequest request = HttpRequest.newBuilder()
-					.uri(new URI(urlSQLService))
-					.headers("Content-Type", "application/sql",
-							"Authorization", basicAuth(user, password),
-							"Pragma", "no-cache",
-							"Cache-Control", "no-store")
-					.POST(HttpRequest.BodyPublishers.ofString(command))
-					.build();
+			// parsing body response to check for any error!
+			return checkResponse(send(newRequest(command), HttpResponse.BodyHandlers.ofString(), retryNumber));
+		}
+		catch (Exception e) {
+			throw new DLException(DLException.ORDS_ERROR, e);
+		}
+	}
 
-			HttpResponse<String> response;
+	/**
+	 * Streaming version of {@link #execute(String, int)}: the response is parsed as it arrives and the rows of the
+	 * result sets are handed to the row handler, instead of being kept in memory.
+	 *
+	 * @param command     SQL statement(s) or PL/SQL block(s) to run
+	 * @param retryNumber maximum number of tries
+	 * @param rowHandler  receives the result set rows, may be null to skip them
+	 * @return the status of each statement
+	 */
+	public ORDSSQLServiceResponseItems[] execute(final String command, int retryNumber, final ORDSRowHandler rowHandler) {
+		try {
+			return checkItems(streamResponse(newRequest(command), retryNumber, rowHandler).getItems());
+		}
+		catch (Exception e) {
+			throw new DLException(DLException.ORDS_ERROR, e);
+		}
+	}
 
-			int tries = 0;
+	/**
+	 * Runs the statements packed in as few round trips as possible: each POST carries up to <code>batchSize</code>
+	 * statements in a single JSON payload.
+	 * <p>
+	 * Statements may be SQL (with or without trailing semicolon) or PL/SQL blocks (with or without trailing slash).
+	 * Each element must be exactly one statement or block: the results are matched to the elements by position, so a
+	 * batch for which ORDS doesn't return one result per element fails as a whole.
+	 * Errors are reported per statement, and no further batch is sent once one of them failed.
+	 *
+	 * @param statements  statements to run, in order, one statement or block per element
+	 * @param binds       bind variables sent along with each batch (may be empty)
+	 * @param batchSize   maximum number of statements per round trip
+	 * @param retryNumber maximum number of tries per round trip
+	 * @return the ORDS result of each statement, in the same order as the statements
+	 */
+	public List<ORDSSQLServiceResponseItems> executeBatch(final List<String> statements, final List<ORDSBind> binds, final int batchSize, int retryNumber) {
+		final List<ORDSSQLServiceResponseItems> results = new ArrayList<>(statements.size());
 
-			do {
-				response = HttpClient
-						.newBuilder()
-						.version(HttpClient.Version.HTTP_1_1)
-						.proxy(ProxySelector.getDefault())
-						.followRedirects(HttpClient.Redirect.NORMAL)
-						.build()
-						.send(request, HttpResponse.BodyHandlers.ofString());
+		for (int from = 0; from < statements.size(); from += batchSize) {
+			final List<String> batch = statements.subList(from, Math.min(statements.size(), from + batchSize));
 
-				if (response.statusCode() == 200) {
-					break;
-				}
+			final ORDSSQLServiceResponse ORDSResponse;
+			try {
+				ORDSResponse = streamResponse(newBatchRequest(batch, binds), retryNumber, null);
+			}
+			catch (DLException e) {
+				throw e;
+			}
+			catch (Exception e) {
+				throw new DLException(DLException.ORDS_ERROR, e);
+			}
 
-				if(response.statusCode() == 503) {
-					for(String s : response.headers().allValues("Retry-After")) {
-						System.out.println("Retry-After: " + s);
+			if (ORDSResponse.getItems() == null || ORDSResponse.getItems().length != batch.size()) {
+				final StringBuilder error = new StringBuilder(String.format("ORDS returned %d result(s) for the %d statement(s) #%d to #%d: each element must be exactly one statement or block",
+						ORDSResponse.getItems() == null ? 0 : ORDSResponse.getItems().length, batch.size(), from + 1, from + batch.size()));
+				if (ORDSResponse.getItems() != null) {
+					for (ORDSSQLServiceResponseItems item : ORDSResponse.getItems()) {
+						if (item.getErrorCode() != 0) {
+							error.append('\n').append("Error (Line ").append(item.getErrorLine()).append("): ").append(item.getErrorDetails());
+						}
 					}
-					Utils.sleep(900L);
 				}
+				logger.error(error.toString());
+				throw new DLException(DLException.ORDS_ERROR, new SQLException(error.toString()));
+			}
 
-				//System.out.println(response.statusCode());
+			// statementId is the 1-based position of the statement inside the payload
+			final ORDSSQLServiceResponseItems[] batchResults = new ORDSSQLServiceResponseItems[batch.size()];
+			for (ORDSSQLServiceResponseItems item : ORDSResponse.getItems()) {
+				if (item.getStatementId() >= 1 && item.getStatementId() <= batch.size()) {
+					batchResults[item.getStatementId() - 1] = item;
+				}
+			}
 
-				// sleep 100ms
-				if (tries + 1 < retryNumber) {
-					Utils.sleep(100L);
+			boolean atLeastOneError = false;
+			final StringBuilder errors = new StringBuilder();
+			for (int i = 0; i < batchResults.length; i++) {
+				final ORDSSQLServiceResponseItems item = batchResults[i];
+				if (item == null || item.getErrorCode() != 0) {
+					atLeastOneError = true;
+					if (errors.length() > 0) {
+						errors.append('\n');
+					}
+					errors.append("Statement #").append(from + i + 1).append(" [").append(abbreviate(batch.get(i))).append("] ");
+					if (item == null) {
+						errors.append("was not executed");
+					}
+					else {
+						errors.append("Error (Line ").append(item.getErrorLine()).append("): ").append(item.getErrorDetails());
+					}
 				}
+				results.add(item);
+			}
 
-				tries++;
+			if (atLeastOneError) {
+				logger.error(errors.toString());
+				throw new DLException(DLException.ORDS_ERROR, new SQLException(errors.toString()));
 			}
-			while (tries < retryNumber);
+		}
+
+		return results;
+	}
+
+	public List<ORDSSQLServiceResponseItems> executeBatch(final List<String> statements, int retryNumber) {
+		return executeBatch(statements, Collections.emptyList(), DEFAULT_BATCH_SIZE, retryNumber);
+	}
+
+	/**
+	 * Runs a query whose rows are fetched lazily, <code>pageSize</code> rows at a time, using the offset/limit
+	 * pagination of the REST-enabled SQL service. Nothing is fetched before the stream is consumed; once a page is
+	 * received, the next one is prefetched in the background.
+	 * <p>
+	 * The stream should be closed if not fully consumed: closing it interrupts a pending prefetch, aborting its HTTP
+	 * exchange.
+	 * <p>
+	 * Each page runs the query again: unless it returns a single row, the query must have an ORDER BY on a unique key,
+	 * otherwise rows can be skipped or returned twice across pages.
+	 *
+	 * @param sql      a single SELECT statement (without trailing semicolon), ordered by a unique key
+	 * @param pageSize number of rows per round trip
+	 * @return the rows, as column values by JSON column name (lower case column name)
+	 */
+	public Stream<Map<String, Object>> query(final String sql, final int pageSize) {
+		final ORDSPagedQuery pagedQuery = new ORDSPagedQuery(this, sql, pageSize);
 
-			if (tries >= retryNumber && response.statusCode() != 200) {
-				throw new RuntimeException("Request was not successful (" + response.statusCode() + ") after " + tries + (tries > 1 ? " tries!" : " try!"));
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pagedQuery, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(pagedQuery::close);
+	}
+
+	/**
+	 * Typed version of {@link #query(String, int)}: each row is converted to the given type (bean properties or
+	 * record components named after the JSON column names).
+	 */
+	public <T> Stream<T> query(final String sql, final int pageSize, final Class<T> rowType) {
+		return query(sql, pageSize).map(row -> mapper.convertValue(row, rowType));
+	}
+
+	/**
+	 * Fetches one page of a query.
+	 *
+	 * @return the status of the query, telling if there are more rows after this page
+	 */
+	ORDSSQLServiceResponseItems fetchPage(final String sql, final long offset, final int pageSize, final ORDSRowHandler rowHandler) {
+		try {
+			final ORDSSQLServiceResponseItems[] items = checkItems(streamResponse(newQueryRequest(sql, offset, pageSize), MAX_TRIES, rowHandler).getItems());
+			if (items.length != 1) {
+				throw new IllegalStateException("Expected a single statement, got " + items.length);
 			}
+			return items[0];
+		}
+		catch (DLException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new DLException(DLException.ORDS_ERROR, e);
+		}
+	}
 
-			// parsing body response to check for any error!
-			final String responseAsText = response.body();
+	/**
+	 * Sends the request, retrying on any non 200 status.
+	 *
+	 * @return the response body
+	 */
+	private <T> T send(final HttpRequest request, final HttpResponse.BodyHandler<T> bodyHandler, int retryNumber) throws IOException, InterruptedException {
+		final HttpClient client = ORDSClientPool.get(uriSQLService);
+
+		HttpResponse<T> response;
 
-			final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		int tries = 0;
+
+		do {
+			final long startTime = System.nanoTime();
 			try {
-				final ORDSSQLServiceResponse ORDSResponse = mapper.readValue(responseAsText, ORDSSQLServiceResponse.class);
-
-				boolean atLeastOneError = false;
-				final StringBuilder errors = new StringBuilder();
-				for (ORDSSQLServiceResponseItems item : ORDSResponse.getItems()) {
-					if (item.getErrorCode() != 0) {
-						atLeastOneError = true;
-						if (errors.length() > 0) {
-							errors.append('\n');
+				response = client.send(request, bodyHandler);
+			}
+			catch (IOException e) {
+				Metrics.counter("ords_request_errors_total").increment();
+				throw e;
+			}
+			recordMetrics(response, startTime, tries);
+
+			if (response.statusCode() == 200) {
+				break;
+			}
+
+			// release the connection of unsuccessful streamed responses
+			if (response.body() instanceof Closeable closeable) {
+				closeable.close();
+			}
+
+			//System.out.println(response.statusCode());
+
+			if (tries + 1 < retryNumber) {
+				Utils.sleep(retryDelay(response));
+			}
+
+			tries++;
+		}
+		while (tries < retryNumber);
+
+		if (tries >= retryNumber && response.statusCode() != 200) {
+			throw new RuntimeException("Request was not successful (" + response.statusCode() + ") after " + tries + (tries > 1 ? " tries!" : " try!"));
+		}
+
+		return response.body();
+	}
+
+	/**
+	 * Non-blocking version of {@link #execute(String, int)}: retries are scheduled instead of sleeping and at most
+	 * <code>maxConcurrentRequests</code> statements of this service are sent to ORDS at the same time, the others
+	 * waiting for their turn.
+	 *
+	 * @param command     SQL statement(s) or PL/SQL block(s) to run
+	 * @param retryNumber maximum number of tries
+	 * @return a future completed with the response body, or exceptionally with a {@link DLException}
+	 */
+	public CompletableFuture<String> executeAsync(final String command, int retryNumber) {
+		return executeAsync(newRequest(command), retryNumber);
+	}
+
+	/**
+	 * Same as {@link #executeAsync(String, int)} with a timeout per try: cancelling the returned future doesn't abort
+	 * the HTTP exchange, only the timeout gives the concurrency permit back if ORDS never answers.
+	 */
+	public CompletableFuture<String> executeAsync(final String command, int retryNumber, Duration timeout) {
+		return executeAsync(HttpRequest.newBuilder(newRequest(command), (name, value) -> true).timeout(timeout).build(), retryNumber);
+	}
+
+	private CompletableFuture<String> executeAsync(final HttpRequest request, int retryNumber) {
+		return limiter.acquire()
+				.thenCompose(ignored -> sendAsync(request, retryNumber, 0))
+				.whenComplete((body, throwable) -> limiter.release())
+				.handle((body, throwable) -> {
+					if (throwable != null) {
+						final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+						// checkResponse already reports SQL errors as DLException
+						if (cause instanceof DLException dle) {
+							throw dle;
 						}
-						errors.append("Error (Line ").append(item.getErrorLine()).append("): ").append(item.getErrorDetails());
+						throw new DLException(DLException.ORDS_ERROR, cause);
 					}
-				}
+					return body;
+				});
+	}
 
-				if (atLeastOneError) {
-					logger.error(errors.toString());
-					throw new DLException(DLException.ORDS_ERROR, new SQLException(errors.toString()));
-				}
+	/**
+	 * Runs all the commands concurrently (within the concurrency cap of this service).
+	 *
+	 * @return a future completed once all the commands succeeded, with their responses in the same order
+	 */
+	public CompletableFuture<List<String>> executeAllAsync(final List<String> commands, int retryNumber) {
+		final List<CompletableFuture<String>> futures = new ArrayList<>(commands.size());
+		for (String command : commands) {
+			futures.add(executeAsync(command, retryNumber));
+		}
+
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+				.thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+	}
+
+	private CompletableFuture<String> sendAsync(final HttpRequest request, final int retryNumber, final int tries) {
+		final long startTime = System.nanoTime();
+		return ORDSClientPool.get(uriSQLService).sendAsync(request, HttpResponse.BodyHandlers.ofString())
+				.whenComplete((response, throwable) -> {
+					if (throwable != null) {
+						Metrics.counter("ords_request_errors_total").increment();
+					}
+					else {
+						recordMetrics(response, startTime, tries);
+					}
+				})
+				.thenCompose(response -> {
+					if (response.statusCode() == 200) {
+						return CompletableFuture.completedFuture(checkResponse(response.body()));
+					}
+
+					if (tries + 1 >= retryNumber) {
+						return CompletableFuture.failedFuture(new RuntimeException("Request was not successful (" + response.statusCode() + ") after " + (tries + 1) + (tries > 0 ? " tries!" : " try!")));
+					}
+
+					return CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(retryDelay(response), TimeUnit.MILLISECONDS))
+							.thenCompose(ignored -> sendAsync(request, retryNumber, tries + 1));
+				});
+	}
+
+	/**
+	 * Records the latency and status of one HTTP exchange (a retry counts as one more exchange).
+	 */
+	private static void recordMetrics(final HttpResponse<?> response, final long startTime, final int tries) {
+		Metrics.timer("ords_request_seconds").recordSince(startTime);
+		Metrics.counter("ords_requests_total", "status", String.valueOf(response.statusCode())).increment();
+		if (tries > 0) {
+			Metrics.counter("ords_retries_total").increment();
+		}
+		if (response.statusCode() == 503 && response.headers().firstValue("Retry-After").isPresent()) {
+			Metrics.counter("ords_retry_after_total").increment();
+		}
+	}
 
-				return responseAsText;
+	/**
+	 * @return the delay before retrying an unsuccessful request (milliseconds): the one asked by a 503 response, else 100ms
+	 */
+	private static long retryDelay(final HttpResponse<?> response) {
+		return response.statusCode() == 503 ? retryAfter(response) + 100L : 100L;
+	}
+
+	/**
+	 * @return the delay asked by a 503 response through its Retry-After header, in seconds or as an HTTP-date (900ms
+	 * by default), bounded by MAX_RETRY_AFTER so that a request doesn't hold its permit for long
+	 */
+	private static long retryAfter(final HttpResponse<?> response) {
+		final long delay = response.headers().firstValue("Retry-After").map(s -> {
+			try {
+				return Long.parseLong(s.trim()) * 1000L;
 			}
-			catch (IOException e) {
-				logger.error("Uparsable ORDS response: " + responseAsText, e);
-				throw new DLException(DLException.UNPARSABLE_ORDS_RESPONSE, e);
+			catch (NumberFormatException e) {
+				try {
+					return ZonedDateTime.parse(s.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() - System.currentTimeMillis();
+				}
+				catch (DateTimeParseException dtpe) {
+					return 900L;
+				}
+			}
+		}).orElse(900L);
+
+		return Math.max(0L, Math.min(MAX_RETRY_AFTER, delay));
+	}
+
+	HttpRequest newRequest(final String command) {
+		return HttpRequest.newBuilder()
+				.uri(uriSQLService)
+				.headers("Content-Type", "application/sql",
+						"Authorization", authorization,
+						"Pragma", "no-cache",
+						"Cache-Control", "no-store")
+				.POST(HttpRequest.BodyPublishers.ofString(command))
+				.build();
+	}
+
+	/**
+	 * Builds the JSON payload of the REST-enabled SQL service: all the statements go into one statementText, properly
+	 * terminated so that ORDS splits them back.
+	 */
+	HttpRequest newBatchRequest(final List<String> statements, final List<ORDSBind> binds) {
+		final StringBuilder statementText = new StringBuilder();
+		for (String statement : statements) {
+			appendTerminated(statementText, statement);
+		}
+
+		final ObjectNode payload = mapper.createObjectNode();
+		payload.put("statementText", statementText.toString());
+		if (!binds.isEmpty()) {
+			final ArrayNode bindsNode = payload.putArray("binds");
+			for (ORDSBind bind : binds) {
+				bindsNode.add(bind.toJSON(mapper));
 			}
 		}
-		catch (Exception e) {
+
+		return newJSONRequest(payload);
+	}
+
+	HttpRequest newQueryRequest(final String sql, final long offset, final int limit) {
+		final ObjectNode payload = mapper.createObjectNode();
+		payload.put("statementText", sql);
+		payload.put("offset", offset);
+		payload.put("limit", limit);
+
+		return newJSONRequest(payload);
+	}
+
+	private HttpRequest newJSONRequest(final ObjectNode payload) {
+		final String body;
+		try {
+			body = mapper.writeValueAsString(payload);
+		}
+		catch (IOException e) {
 			throw new DLException(DLException.ORDS_ERROR, e);
 		}
+
+		return HttpRequest.newBuilder()
+				.uri(uriSQLService)
+				.headers("Content-Type", "application/json",
+						"Authorization", authorization,
+						"Pragma", "no-cache",
+						"Cache-Control", "no-store")
+				.POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+				.build();
+	}
+
+	static void appendTerminated(final StringBuilder statementText, final String statement) {
+		final String trimmed = statement.strip();
+		if (trimmed.endsWith("/")) {
+			statementText.append(trimmed);
+		}
+		else if (PLSQL_BLOCK.matcher(trimmed).lookingAt()) {
+			statementText.append(trimmed).append("\n/");
+		}
+		else {
+			statementText.append(trimmed.endsWith(";") ? trimmed : trimmed + ";");
+		}
+		statementText.append('\n');
+	}
+
+	private static String abbreviate(final String statement) {
+		final String oneLine = statement.strip().replaceAll("\\s+", " ");
+		return oneLine.length() <= 60 ? oneLine : oneLine.substring(0, 57) + "...";
+	}
+
+	private ORDSSQLServiceResponse streamResponse(final HttpRequest request, int retryNumber, final ORDSRowHandler rowHandler) throws IOException, InterruptedException {
+		try (InputStream in = send(request, HttpResponse.BodyHandlers.ofInputStream(), retryNumber)) {
+			return responseParser.parse(in, rowHandler);
+		}
+		catch (JsonProcessingException e) {
+			logger.error("Uparsable ORDS response", e);
+			throw new DLException(DLException.UNPARSABLE_ORDS_RESPONSE, e);
+		}
+	}
+
+	private ORDSSQLServiceResponse parseResponse(final String responseAsText) {
+		try {
+			return responseParser.parse(responseAsText, null);
+		}
+		catch (IOException e) {
+			logger.error("Uparsable ORDS response: " + responseAsText, e);
+			throw new DLException(DLException.UNPARSABLE_ORDS_RESPONSE, e);
+		}
+	}
+
+	/**
+	 * Checks the ORDS response for any error reported by one of the statements.
+	 *
+	 * @param responseAsText the ORDS response body
+	 * @return the response body
+	 */
+	private String checkResponse(final String responseAsText) {
+		checkItems(parseResponse(responseAsText).getItems());
+
+		return responseAsText;
+	}
+
+	private ORDSSQLServiceResponseItems[] checkItems(final ORDSSQLServiceResponseItems[] items) {
+		boolean atLeastOneError = false;
+		final StringBuilder errors = new StringBuilder();
+		for (ORDSSQLServiceResponseItems item : items) {
+			if (item.getErrorCode() != 0) {
+				atLeastOneError = true;
+				if (errors.length() > 0) {
+					errors.append('\n');
+				}
+				errors.append("Error (Line ").append(item.getErrorLine()).append("): ").append(item.getErrorDetails());
+			}
+		}
+
+		if (atLeastOneError) {
+			logger.error(errors.toString());
+			throw new DLException(DLException.ORDS_ERROR, new SQLException(errors.toString()));
+		}
+
+		return items;
 	}
 
 	/**
@@ -164,7 +601,7 @@ public class ADBRESTService {
 	 * @param password password to use for authentication
 	 * @return the base 64 encoded authentication signature
 	 */
-	private String basicAuth(final String user, final String password) {
+	private static String basicAuth(final String user, final String password) {
 		return String.format("Basic %s", Base64.getEncoder().encodeToString((String.format("%s:%s", user, password)).getBytes()));
 	}
 
@@ -0,0 +1,51 @@
+package com.oracle.dragonlite.rest;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counting semaphore: permits are handed out as futures so that no thread waits for its turn.
+ */
+final class ConcurrencyLimiter {
+	private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+	private int available;
+
+	ConcurrencyLimiter(final int permits) {
+		if (permits <= 0) {
+			throw new IllegalArgumentException("At least one concurrent request must be allowed: " + permits);
+		}
+		this.available = permits;
+	}
+
+	/**
+	 * @return a future completed once a permit is granted
+	 */
+	CompletableFuture<Void> acquire() {
+		synchronized (this) {
+			if (available > 0) {
+				available--;
+				return CompletableFuture.completedFuture(null);
+			}
+
+			final CompletableFuture<Void> waiter = new CompletableFuture<>();
+			waiters.add(waiter);
+			return waiter;
+		}
+	}
+
+	/**
+	 * Gives the permit to the oldest waiter if any (completed outside of the lock), else back to the pool.
+	 */
+	void release() {
+		final CompletableFuture<Void> next;
+		synchronized (this) {
+			next = waiters.poll();
+			if (next == null) {
+				available++;
+				return;
+			}
+		}
+		next.complete(null);
+	}
+}
@@ -0,0 +1,168 @@
+package com.oracle.dragonlite.rest;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.oracle.dragonlite.server.ReadinessCheck;
+import com.oracle.dragonlite.util.CircuitBreaker;
+import com.oracle.dragonlite.util.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pings ORDS in the background once the database is ready, so that readiness reflects its actual reachability.
+ * <p>
+ * The ping interval doubles while answers are fast (up to {@value #MAX_INTERVAL} ms) and goes back to
+ * {@value #MIN_INTERVAL} ms as soon as a ping is slow or fails. The circuit opens (not ready) on the first failure after
+ * a healthy period (interval above {@value #MIN_INTERVAL} ms), else after {@value #FAILURE_THRESHOLD} consecutive
+ * failures, so that an outage is reported within about {@value #MAX_INTERVAL} ms either way; it is then probed with an
+ * exponentially growing delay and closes on the first successful probe.
+ */
+public final class ConnectivityMonitor implements ReadinessCheck, AutoCloseable {
+	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
+
+	static final long MIN_INTERVAL = 1000L;
+	static final long MAX_INTERVAL = 4000L;
+	static final long PROBE_TIMEOUT = 5000L;
+	static final long MAX_PROBE_DELAY = 60_000L;
+	static final int FAILURE_THRESHOLD = 3;
+	// a ping slower than this factor of the p95 is a sign of degradation
+	private static final int SLOW_FACTOR = 3;
+	private static final int MIN_SAMPLES = 20;
+
+	private static final String PING = "SELECT 1 FROM DUAL";
+
+	private final String name;
+	private final ADBRESTService ords;
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final CircuitBreaker breaker = new CircuitBreaker(FAILURE_THRESHOLD, MIN_INTERVAL, MAX_PROBE_DELAY);
+	private final ScheduledExecutorService scheduler;
+
+	private volatile long interval = MIN_INTERVAL;
+	private volatile long failures;
+	private volatile long lastSuccess;
+	private volatile String lastError;
+	private volatile boolean closed;
+
+	public ConnectivityMonitor(final String name, final String sqlDevWebUrl, final String user, final String password) {
+		this.name = name;
+		this.ords = new ADBRESTService(sqlDevWebUrl, user, password, 1);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			final Thread t = new Thread(r, "Connectivity monitor " + name);
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	public void start() {
+		schedule(0L);
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		scheduler.shutdownNow();
+	}
+
+	@Override
+	public String getName() {
+		return "ords:" + name;
+	}
+
+	@Override
+	public boolean isReady() {
+		return breaker.getState() == CircuitBreaker.State.CLOSED;
+	}
+
+	@Override
+	public void describe(ObjectNode node) {
+		node.put("circuit", breaker.getState().name())
+				.put("consecutiveFailures", breaker.getConsecutiveFailures())
+				.put("failures", failures)
+				.put("pings", latency.getCount())
+				.put("intervalMillis", interval)
+				.put("p50Millis", latency.getPercentileMicros(50) / 1000d)
+				.put("p95Millis", latency.getPercentileMicros(95) / 1000d)
+				.put("p99Millis", latency.getPercentileMicros(99) / 1000d)
+				.put("maxMillis", latency.getMaxMicros() / 1000d);
+		if (lastSuccess > 0) {
+			node.put("lastSuccess", Instant.ofEpochMilli(lastSuccess).toString());
+		}
+		if (lastError != null) {
+			node.put("lastError", lastError);
+		}
+	}
+
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	public CircuitBreaker.State getState() {
+		return breaker.getState();
+	}
+
+	private void schedule(long delay) {
+		if (!closed) {
+			scheduler.schedule(this::ping, delay, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void ping() {
+		if (!breaker.allowRequest()) {
+			schedule(breaker.getRemainingProbeDelay());
+			return;
+		}
+
+		final CircuitBreaker.State before = breaker.getState();
+		final long startTime = System.nanoTime();
+		// the request timeout ends a hung exchange, which would otherwise hold the only permit of the service forever
+		final CompletableFuture<String> answer = ords.executeAsync(PING, 1, Duration.ofMillis(PROBE_TIMEOUT));
+		try {
+			answer.get(PROBE_TIMEOUT, TimeUnit.MILLISECONDS);
+
+			final long elapsedMicros = (System.nanoTime() - startTime) / 1000L;
+			final boolean slow = latency.getCount() >= MIN_SAMPLES && elapsedMicros > SLOW_FACTOR * latency.getPercentileMicros(95);
+			latency.recordMicros(elapsedMicros);
+			lastSuccess = System.currentTimeMillis();
+			breaker.onSuccess();
+
+			interval = slow ? MIN_INTERVAL : Math.min(MAX_INTERVAL, interval * 2);
+		}
+		catch (InterruptedException e) {
+			answer.cancel(true);
+			return;
+		}
+		catch (ExecutionException | TimeoutException e) {
+			answer.cancel(true);
+			failures++;
+			lastError = e instanceof TimeoutException ? "no answer within " + PROBE_TIMEOUT + " ms" :
+					String.valueOf(e.getCause() != null && e.getCause().getCause() != null ? e.getCause().getCause().getMessage() : e.getMessage());
+			if (interval > MIN_INTERVAL) {
+				breaker.trip();
+			}
+			else {
+				breaker.onFailure();
+			}
+			interval = MIN_INTERVAL;
+		}
+
+		final CircuitBreaker.State after = breaker.getState();
+		if (before != after) {
+			if (after == CircuitBreaker.State.OPEN) {
+				logger.warn(String.format("ORDS of %s unreachable (%s), next probe in %d ms", name, lastError, breaker.getRemainingProbeDelay()));
+			}
+			else if (after == CircuitBreaker.State.CLOSED) {
+				logger.info(String.format("ORDS of %s reachable again", name));
+			}
+		}
+
+		schedule(after == CircuitBreaker.State.OPEN ? breaker.getRemainingProbeDelay() : interval);
+	}
+}
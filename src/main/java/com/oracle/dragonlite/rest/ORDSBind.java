@@ -0,0 +1,58 @@
+package com.oracle.dragonlite.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Bind variable of the REST-enabled SQL service JSON payload, either by name or by (1-based) index.
+ */
+public final class ORDSBind {
+	private final String name;
+	private final int index;
+	private final String dataType;
+	private final Object value;
+
+	private ORDSBind(String name, int index, String dataType, Object value) {
+		this.name = name;
+		this.index = index;
+		this.dataType = dataType;
+		this.value = value;
+	}
+
+	public static ORDSBind byName(String name, String dataType, Object value) {
+		return new ORDSBind(name, 0, dataType, value);
+	}
+
+	public static ORDSBind byIndex(int index, String dataType, Object value) {
+		return new ORDSBind(null, index, dataType, value);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public String getDataType() {
+		return dataType;
+	}
+
+	public Object getValue() {
+		return value;
+	}
+
+	ObjectNode toJSON(ObjectMapper mapper) {
+		final ObjectNode node = mapper.createObjectNode();
+		if (name != null) {
+			node.put("name", name);
+		}
+		else {
+			node.put("index", index);
+		}
+		node.put("data_type", dataType);
+		node.set("value", mapper.valueToTree(value));
+		return node;
+	}
+}
@@ -0,0 +1,86 @@
+package com.oracle.dragonlite.rest;
+
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shares one {@link HttpClient} per ORDS host so that every {@link ADBRESTService} talking to the same
+ * Autonomous Database reuses the same keep-alive connections (and HTTP/2 when the server negotiates it).
+ */
+public final class ORDSClientPool {
+	private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(20);
+
+	private static final Map<String, PooledClient> clients = new ConcurrentHashMap<>();
+
+	private ORDSClientPool() {
+	}
+
+	/**
+	 * Returns the shared client for the host of the given ORDS URL, creating it on first use.
+	 *
+	 * @param ordsURL any URL served by the ORDS instance
+	 * @return the shared HTTP client
+	 */
+	public static HttpClient get(final URI ordsURL) {
+		return clients.computeIfAbsent(key(ordsURL), ORDSClientPool::newClient).client;
+	}
+
+	/**
+	 * Releases the client of the given ORDS host. To be called once no request is in flight: the executor of the client
+	 * is shut down, so the pending asynchronous stages of an in-flight request would fail with a
+	 * RejectedExecutionException.
+	 *
+	 * @param ordsURL any URL served by the ORDS instance
+	 */
+	public static void close(final URI ordsURL) {
+		final PooledClient pooledClient = clients.remove(key(ordsURL));
+		if (pooledClient != null) {
+			pooledClient.executor.shutdown();
+		}
+	}
+
+	/**
+	 * Releases all the shared clients, once no request is in flight (see {@link #close(URI)}).
+	 */
+	public static void closeAll() {
+		for (String host : clients.keySet()) {
+			final PooledClient pooledClient = clients.remove(host);
+			if (pooledClient != null) {
+				pooledClient.executor.shutdown();
+			}
+		}
+	}
+
+	private static String key(final URI ordsURL) {
+		return ordsURL.getScheme() + "://" + ordsURL.getAuthority();
+	}
+
+	private static PooledClient newClient(final String host) {
+		final AtomicInteger threadNumber = new AtomicInteger();
+		final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+			final Thread t = new Thread(r, "ords-client-" + threadNumber.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+
+		final HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_2)
+				.proxy(ProxySelector.getDefault())
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.connectTimeout(CONNECT_TIMEOUT)
+				.executor(executor)
+				.build();
+
+		return new PooledClient(client, executor);
+	}
+
+	private record PooledClient(HttpClient client, ExecutorService executor) {
+	}
+}
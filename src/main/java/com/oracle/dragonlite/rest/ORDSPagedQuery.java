@@ -0,0 +1,119 @@
+package com.oracle.dragonlite.rest;
+
+import com.oracle.dragonlite.exception.DLException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Iterates over the rows of a query, fetching the pages lazily and prefetching the next page while the current one
+ * is being consumed. At most two pages are held in memory.
+ * <p>
+ * Closing the iterator interrupts a pending prefetch, which aborts its HTTP exchange.
+ */
+final class ORDSPagedQuery implements Iterator<Map<String, Object>>, AutoCloseable {
+	private static final ExecutorService prefetchExecutor = Executors.newCachedThreadPool(r -> {
+		final Thread t = new Thread(r, "ords-prefetch");
+		t.setDaemon(true);
+		return t;
+	});
+
+	private final ADBRESTService service;
+	private final String sql;
+	private final int pageSize;
+
+	private long nextOffset;
+	private boolean started;
+	private Iterator<Map<String, Object>> currentPage = Collections.emptyIterator();
+	private Future<Page> nextPage;
+
+	ORDSPagedQuery(final ADBRESTService service, final String sql, final int pageSize) {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("Invalid page size: " + pageSize);
+		}
+		this.service = service;
+		this.sql = sql;
+		this.pageSize = pageSize;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (!currentPage.hasNext()) {
+			if (!started) {
+				started = true;
+				nextPage = CompletableFuture.completedFuture(fetch(nextOffset));
+			}
+
+			if (nextPage == null) {
+				return false;
+			}
+
+			final Page page = join(nextPage);
+			nextOffset += page.rows.size();
+			nextPage = page.hasMore && !page.rows.isEmpty() ? prefetch(nextOffset) : null;
+			currentPage = page.rows.iterator();
+		}
+
+		return true;
+	}
+
+	@Override
+	public Map<String, Object> next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return currentPage.next();
+	}
+
+	@Override
+	public void close() {
+		if (nextPage != null) {
+			nextPage.cancel(true);
+			nextPage = null;
+		}
+		currentPage = Collections.emptyIterator();
+	}
+
+	/**
+	 * Fetches the page on a thread of its own, that {@link #close()} can interrupt (cancelling a CompletableFuture
+	 * wouldn't stop the task).
+	 */
+	private Future<Page> prefetch(final long offset) {
+		return prefetchExecutor.submit(() -> fetch(offset));
+	}
+
+	private Page fetch(final long offset) {
+		final List<Map<String, Object>> rows = new ArrayList<>(pageSize);
+		final ORDSSQLServiceResponseItems status = service.fetchPage(sql, offset, pageSize, (statementId, row) -> rows.add(row));
+		return new Page(rows, status.isHasMore());
+	}
+
+	private static Page join(final Future<Page> page) {
+		try {
+			return page.get();
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof DLException dle) {
+				throw dle;
+			}
+			throw new DLException(DLException.ORDS_ERROR, e.getCause());
+		}
+		catch (InterruptedException e) {
+			page.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new DLException(DLException.ORDS_ERROR, e);
+		}
+	}
+
+	private record Page(List<Map<String, Object>> rows, boolean hasMore) {
+	}
+}
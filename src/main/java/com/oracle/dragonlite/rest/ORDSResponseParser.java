@@ -0,0 +1,117 @@
+package com.oracle.dragonlite.rest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming parser of the REST-enabled SQL service responses.
+ * <p>
+ * Only the statement status fields are kept for each item; result set rows are handed one by one to a
+ * {@link ORDSRowHandler} (or skipped without being materialized when there is none), so the memory used doesn't
+ * depend on the size of the result.
+ */
+public final class ORDSResponseParser {
+	private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {
+	};
+
+	private final ObjectMapper mapper;
+
+	public ORDSResponseParser(ObjectMapper mapper) {
+		this.mapper = mapper;
+	}
+
+	public ORDSSQLServiceResponse parse(InputStream in, ORDSRowHandler rowHandler) throws IOException {
+		try (JsonParser parser = mapper.createParser(in)) {
+			return parse(parser, rowHandler);
+		}
+	}
+
+	public ORDSSQLServiceResponse parse(String responseAsText, ORDSRowHandler rowHandler) throws IOException {
+		try (JsonParser parser = mapper.createParser(responseAsText)) {
+			return parse(parser, rowHandler);
+		}
+	}
+
+	private ORDSSQLServiceResponse parse(JsonParser parser, ORDSRowHandler rowHandler) throws IOException {
+		expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+
+		final List<ORDSSQLServiceResponseItems> items = new ArrayList<>();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			final String field = parser.getCurrentName();
+			parser.nextToken();
+			if ("items".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					items.add(parseItem(parser, rowHandler));
+				}
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+
+		final ORDSSQLServiceResponse response = new ORDSSQLServiceResponse();
+		response.setItems(items.toArray(new ORDSSQLServiceResponseItems[0]));
+		return response;
+	}
+
+	private ORDSSQLServiceResponseItems parseItem(JsonParser parser, ORDSRowHandler rowHandler) throws IOException {
+		final ORDSSQLServiceResponseItems item = new ORDSSQLServiceResponseItems();
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			final String field = parser.getCurrentName();
+			parser.nextToken();
+			switch (field) {
+				case "statementId" -> item.setStatementId(parser.getValueAsInt());
+				case "statementType" -> item.setStatementType(parser.getValueAsString());
+				case "statementText" -> item.setStatementText(parser.getValueAsString());
+				case "errorCode" -> item.setErrorCode(parser.getValueAsInt());
+				case "errorLine" -> item.setErrorLine(parser.getValueAsInt());
+				case "errorDetails" -> item.setErrorDetails(parser.getValueAsString());
+				case "resultSet" -> {
+					if (rowHandler != null && parser.currentToken() == JsonToken.START_OBJECT) {
+						parseResultSet(parser, item, rowHandler);
+					}
+					else {
+						parser.skipChildren();
+					}
+				}
+				default -> parser.skipChildren();
+			}
+		}
+
+		return item;
+	}
+
+	private void parseResultSet(JsonParser parser, ORDSSQLServiceResponseItems item, ORDSRowHandler rowHandler) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			final String field = parser.getCurrentName();
+			parser.nextToken();
+			if ("items".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					// statementId precedes resultSet in ORDS responses
+					rowHandler.accept(item.getStatementId(), mapper.readValue(parser, ROW_TYPE));
+				}
+			}
+			else if ("hasMore".equals(field)) {
+				item.setHasMore(parser.getValueAsBoolean());
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private static void expect(JsonToken actual, JsonToken expected, JsonParser parser) throws IOException {
+		if (actual != expected) {
+			throw new IOException("Unexpected token " + actual + " at " + parser.getCurrentLocation() + ", expecting " + expected);
+		}
+	}
+}
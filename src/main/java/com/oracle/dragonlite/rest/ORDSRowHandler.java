@@ -0,0 +1,15 @@
+package com.oracle.dragonlite.rest;
+
+import java.util.Map;
+
+/**
+ * Receives the rows of the result sets returned by the REST-enabled SQL service, one at a time as they are parsed.
+ */
+@FunctionalInterface
+public interface ORDSRowHandler {
+	/**
+	 * @param statementId 1-based position of the statement that produced the row
+	 * @param row         column values by JSON column name
+	 */
+	void accept(int statementId, Map<String, Object> row);
+}
@@ -3,9 +3,11 @@ package com.oracle.dragonlite.rest;
 public class ORDSSQLServiceResponseItems {
 	private int statementId;
 	private String statementType;
+	private String statementText;
 	private int errorCode;
 	private int errorLine;
 	private String errorDetails;
+	private boolean hasMore;
 
 	public ORDSSQLServiceResponseItems() {
 	}
@@ -26,6 +28,14 @@ public class ORDSSQLServiceResponseItems {
 		this.statementType = statementType;
 	}
 
+	public String getStatementText() {
+		return statementText;
+	}
+
+	public void setStatementText(String statementText) {
+		this.statementText = statementText;
+	}
+
 	public int getErrorCode() {
 		return errorCode;
 	}
@@ -49,4 +59,16 @@ public class ORDSSQLServiceResponseItems {
 	public void setErrorDetails(String errorDetails) {
 		this.errorDetails = errorDetails;
 	}
+
+	/**
+	 * @return true if the result set of this statement has more rows than the ones returned (only filled by
+	 * {@link ORDSResponseParser} when rows are read)
+	 */
+	public boolean isHasMore() {
+		return hasMore;
+	}
+
+	public void setHasMore(boolean hasMore) {
+		this.hasMore = hasMore;
+	}
 }
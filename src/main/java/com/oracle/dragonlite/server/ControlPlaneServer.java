@@ -0,0 +1,86 @@
+package com.oracle.dragonlite.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.dragonlite.metrics.Metrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP endpoint of the long-running process, for orchestrators and container health checks:
+ * <ul>
+ *     <li>/health: 200 as long as the process is alive</li>
+ *     <li>/ready: 200 once the database(s) can be used, 503 otherwise</li>
+ *     <li>/status: JSON description of the process and its database(s)</li>
+ *     <li>/metrics: OCI and ORDS calls metrics, in the Prometheus text format</li>
+ * </ul>
+ * All answers come from the in-memory {@link ServiceState} and {@link Metrics}.
+ */
+public final class ControlPlaneServer implements AutoCloseable {
+	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
+
+	public static final int DEFAULT_PORT = 8080;
+
+	private static final ObjectMapper mapper = new ObjectMapper();
+
+	private final HttpServer server;
+	private final ServiceState state;
+
+	public ControlPlaneServer(final int port, final ServiceState state) throws IOException {
+		this.state = state;
+		this.server = HttpServer.create(new InetSocketAddress(port), 0);
+		server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+			final Thread t = new Thread(r, "Control plane");
+			t.setDaemon(true);
+			return t;
+		}));
+
+		server.createContext("/health", exchange -> send(exchange, 200, "text/plain", "OK"));
+		server.createContext("/ready", exchange -> {
+			final boolean ready = state.isReady();
+			send(exchange, ready ? 200 : 503, "text/plain", ready ? "READY" : "NOT READY");
+		});
+		server.createContext("/status", exchange -> send(exchange, 200, "application/json", mapper.writeValueAsString(state.toJSON(mapper))));
+		server.createContext("/metrics", exchange -> send(exchange, 200, "text/plain; version=0.0.4", Metrics.toPrometheus()));
+	}
+
+	public void start() {
+		server.start();
+		logger.info("control plane listening on port " + server.getAddress().getPort());
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+	private static void send(final HttpExchange exchange, final int status, final String contentType, final String body) throws IOException {
+		try {
+			final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+			exchange.getResponseHeaders().set("Cache-Control", "no-store");
+			if ("HEAD".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(status, -1);
+				return;
+			}
+			exchange.sendResponseHeaders(status, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		}
+		finally {
+			exchange.close();
+		}
+	}
+}
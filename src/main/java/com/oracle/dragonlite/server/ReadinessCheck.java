@@ -0,0 +1,17 @@
+package com.oracle.dragonlite.server;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Condition the process must satisfy to be reported ready, evaluated from in-memory state only.
+ */
+public interface ReadinessCheck {
+	String getName();
+
+	boolean isReady();
+
+	/**
+	 * Adds the details of this check to the /status document.
+	 */
+	void describe(ObjectNode node);
+}
@@ -0,0 +1,119 @@
+package com.oracle.dragonlite.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory state of the long-running process, updated by the actions as they progress and read by the control-plane
+ * endpoints: probing it never calls OCI nor the database.
+ */
+public final class ServiceState {
+	public enum Phase {
+		STARTING,
+		READY,
+		FAILED
+	}
+
+	public record DatabaseStatus(String state, String dbName, String sqlDevWebUrl, String connectionString, long since) {
+	}
+
+	private final String action;
+	private final long startTime = System.currentTimeMillis();
+
+	private volatile Phase phase = Phase.STARTING;
+	private volatile long readyTime;
+	private volatile int errorCode;
+
+	private final Map<String, DatabaseStatus> databases = new ConcurrentHashMap<>();
+	private final List<ReadinessCheck> checks = new CopyOnWriteArrayList<>();
+
+	public ServiceState(String action) {
+		this.action = action;
+	}
+
+	public void ready() {
+		readyTime = System.currentTimeMillis();
+		phase = Phase.READY;
+	}
+
+	public void failed(int errorCode) {
+		this.errorCode = errorCode;
+		phase = Phase.FAILED;
+	}
+
+	/**
+	 * @return true once the action completed and as long as all the readiness checks pass
+	 */
+	public boolean isReady() {
+		if (phase != Phase.READY) {
+			return false;
+		}
+
+		for (ReadinessCheck check : checks) {
+			if (!check.isReady()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	public void addCheck(ReadinessCheck check) {
+		checks.add(check);
+	}
+
+	public void removeCheck(ReadinessCheck check) {
+		checks.remove(check);
+	}
+
+	/**
+	 * @param name  database name as requested (command line or fleet manifest)
+	 * @param state database state, e.g. STARTING, READY or FAILED
+	 */
+	public void setDatabaseStatus(String name, String state, String dbName, String sqlDevWebUrl, String connectionString) {
+		databases.put(name, new DatabaseStatus(state, dbName, sqlDevWebUrl, connectionString, System.currentTimeMillis()));
+	}
+
+	public ObjectNode toJSON(ObjectMapper mapper) {
+		final long now = System.currentTimeMillis();
+
+		final ObjectNode status = mapper.createObjectNode()
+				.put("action", action)
+				.put("phase", phase.name())
+				.put("ready", isReady())
+				.put("startedAt", Instant.ofEpochMilli(startTime).toString())
+				.put("uptimeMillis", now - startTime);
+		if (readyTime > 0) {
+			status.put("readyAt", Instant.ofEpochMilli(readyTime).toString())
+					.put("timeToReadyMillis", readyTime - startTime);
+		}
+		if (phase == Phase.FAILED) {
+			status.put("errorCode", errorCode);
+		}
+
+		final ObjectNode databasesNode = status.putObject("databases");
+		for (Map.Entry<String, DatabaseStatus> entry : databases.entrySet()) {
+			final DatabaseStatus database = entry.getValue();
+			databasesNode.putObject(entry.getKey())
+					.put("state", database.state())
+					.put("dbName", database.dbName())
+					.put("sqlDevWebUrl", database.sqlDevWebUrl())
+					.put("connectionString", database.connectionString())
+					.put("since", Instant.ofEpochMilli(database.since()).toString());
+		}
+
+		final ObjectNode checksNode = status.putObject("checks");
+		for (ReadinessCheck check : checks) {
+			final ObjectNode checkNode = checksNode.putObject(check.getName()).put("ready", check.isReady());
+			check.describe(checkNode);
+		}
+
+		return status;
+	}
+}
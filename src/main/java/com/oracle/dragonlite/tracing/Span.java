@@ -0,0 +1,87 @@
+package com.oracle.dragonlite.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Timed phase of the process, ended by {@link #close()} on the thread that started it:
+ * <pre>
+ * try (Span span = Tracer.start("database creation")) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class Span implements AutoCloseable {
+	private final String name;
+	private final String spanId;
+	private final Span parent;
+	private final long startTimeUnixNano;
+	// span open on this thread before this one, restored when it ends
+	private final Span previous;
+	private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+	private volatile long endTimeUnixNano;
+	private volatile String errorMessage;
+
+	Span(String name, String spanId, Span parent, long startTimeUnixNano, Span previous) {
+		this.name = name;
+		this.spanId = spanId;
+		this.parent = parent;
+		this.startTimeUnixNano = startTimeUnixNano;
+		this.previous = previous;
+	}
+
+	public synchronized Span setAttribute(String key, Object value) {
+		if (value != null) {
+			attributes.put(key, value);
+		}
+		return this;
+	}
+
+	/**
+	 * Marks the span as failed.
+	 */
+	public void setError(Throwable t) {
+		errorMessage = t.getMessage() != null ? t.getClass().getSimpleName() + ": " + t.getMessage() : t.getClass().getSimpleName();
+	}
+
+	@Override
+	public void close() {
+		if (endTimeUnixNano == 0L) {
+			endTimeUnixNano = Tracer.now();
+			Tracer.end(this);
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	String getSpanId() {
+		return spanId;
+	}
+
+	Span getParent() {
+		return parent;
+	}
+
+	Span getPrevious() {
+		return previous;
+	}
+
+	long getStartTimeUnixNano() {
+		return startTimeUnixNano;
+	}
+
+	long getEndTimeUnixNano() {
+		return endTimeUnixNano;
+	}
+
+	String getErrorMessage() {
+		return errorMessage;
+	}
+
+	synchronized Map<String, Object> getAttributes() {
+		return new LinkedHashMap<>(attributes);
+	}
+}
@@ -0,0 +1,214 @@
+package com.oracle.dragonlite.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide tracer: the phases of the actions are recorded as spans of a single trace (one per process), then
+ * written in the OpenTelemetry OTLP/JSON format (ExportTraceServiceRequest), which collectors and most trace viewers
+ * import as is.
+ * <p>
+ * The current span is tracked per thread: a span started while another one is open on the same thread becomes its
+ * child. Tasks running on other threads pass their parent explicitly (see {@link #start(String, Span)}).
+ * <p>
+ * At most {@value #MAX_SPANS} ended spans are kept: a long-running process keeps the spans of its startup, the later
+ * ones are only counted (dragonlite.dropped_spans attribute of the resource).
+ */
+public final class Tracer {
+	private static final String SERVICE_NAME = "dragonlite";
+	private static final int SPAN_KIND_INTERNAL = 1;
+	private static final int STATUS_CODE_OK = 1;
+	private static final int STATUS_CODE_ERROR = 2;
+	static final int MAX_SPANS = 10_000;
+
+	private static final SecureRandom random = new SecureRandom();
+	private static final long EPOCH_OFFSET_NANOS = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+	private static final String traceId = randomId(16);
+
+	private static final ThreadLocal<Span> current = new ThreadLocal<>();
+	private static final List<Span> ended = new ArrayList<>();
+	private static long droppedSpans;
+
+	private Tracer() {
+	}
+
+	/**
+	 * Starts a span, child of the current span of this thread.
+	 */
+	public static Span start(String name) {
+		return start(name, current.get());
+	}
+
+	public static Span start(String name, Span parent) {
+		return open(name, parent, now());
+	}
+
+	/**
+	 * Starts a span which began earlier (e.g. at process start).
+	 */
+	public static Span startAt(String name, Span parent, long startTimeMillis) {
+		return open(name, parent, startTimeMillis * 1_000_000L);
+	}
+
+	private static Span open(String name, Span parent, long startTimeUnixNano) {
+		final Span span = new Span(name, randomId(8), parent, startTimeUnixNano, current.get());
+		current.set(span);
+		return span;
+	}
+
+	/**
+	 * @return the span open on this thread, null if none
+	 */
+	public static Span current() {
+		return current.get();
+	}
+
+	/**
+	 * Runs the task inside a span, marking it as failed if the task throws.
+	 */
+	public static <T> T trace(String name, Supplier<T> task) {
+		try (Span span = start(name)) {
+			try {
+				return task.get();
+			}
+			catch (RuntimeException | Error e) {
+				span.setError(e);
+				throw e;
+			}
+		}
+	}
+
+	public static void run(String name, Runnable task) {
+		trace(name, () -> {
+			task.run();
+			return null;
+		});
+	}
+
+	static void end(Span span) {
+		if (current.get() == span) {
+			if (span.getPrevious() != null) {
+				current.set(span.getPrevious());
+			}
+			else {
+				current.remove();
+			}
+		}
+		synchronized (ended) {
+			if (ended.size() < MAX_SPANS) {
+				ended.add(span);
+			}
+			else {
+				droppedSpans++;
+			}
+		}
+	}
+
+	static long now() {
+		return System.nanoTime() + EPOCH_OFFSET_NANOS;
+	}
+
+	public static boolean isEmpty() {
+		synchronized (ended) {
+			return ended.isEmpty();
+		}
+	}
+
+	/**
+	 * @return the ended spans as an OTLP/JSON ExportTraceServiceRequest
+	 */
+	public static ObjectNode toOTLP(ObjectMapper mapper) {
+		final ObjectNode root = mapper.createObjectNode();
+		final ObjectNode resourceSpans = root.putArray("resourceSpans").addObject();
+
+		final ArrayNode resourceAttributes = resourceSpans.putObject("resource").putArray("attributes");
+		attribute(resourceAttributes, "service.name", SERVICE_NAME);
+		attribute(resourceAttributes, "service.version", version());
+
+		final List<Span> snapshot;
+		final long dropped;
+		synchronized (ended) {
+			snapshot = new ArrayList<>(ended);
+			dropped = droppedSpans;
+		}
+		if (dropped > 0) {
+			attribute(resourceAttributes, "dragonlite.dropped_spans", dropped);
+		}
+
+		final ObjectNode scopeSpans = resourceSpans.putArray("scopeSpans").addObject();
+		scopeSpans.putObject("scope").put("name", Tracer.class.getName()).put("version", version());
+
+		final ArrayNode spans = scopeSpans.putArray("spans");
+		for (Span span : snapshot) {
+			final ObjectNode spanNode = spans.addObject()
+					.put("traceId", traceId)
+					.put("spanId", span.getSpanId());
+			if (span.getParent() != null) {
+				spanNode.put("parentSpanId", span.getParent().getSpanId());
+			}
+			spanNode.put("name", span.getName())
+					.put("kind", SPAN_KIND_INTERNAL)
+					// 64-bit integers are encoded as strings in OTLP/JSON
+					.put("startTimeUnixNano", String.valueOf(span.getStartTimeUnixNano()))
+					.put("endTimeUnixNano", String.valueOf(span.getEndTimeUnixNano()));
+
+			final ArrayNode attributes = spanNode.putArray("attributes");
+			for (Map.Entry<String, Object> entry : span.getAttributes().entrySet()) {
+				attribute(attributes, entry.getKey(), entry.getValue());
+			}
+
+			final ObjectNode status = spanNode.putObject("status");
+			if (span.getErrorMessage() != null) {
+				status.put("code", STATUS_CODE_ERROR).put("message", span.getErrorMessage());
+			}
+			else {
+				status.put("code", STATUS_CODE_OK);
+			}
+		}
+
+		return root;
+	}
+
+	public static void write(File file) throws IOException {
+		final ObjectMapper mapper = new ObjectMapper();
+		mapper.writerWithDefaultPrettyPrinter().writeValue(file, toOTLP(mapper));
+	}
+
+	private static void attribute(ArrayNode attributes, String key, Object value) {
+		final ObjectNode attribute = attributes.addObject().put("key", key);
+		final ObjectNode valueNode = attribute.putObject("value");
+		if (value instanceof Boolean b) {
+			valueNode.put("boolValue", b);
+		}
+		else if (value instanceof Integer || value instanceof Long) {
+			valueNode.put("intValue", String.valueOf(value));
+		}
+		else if (value instanceof Number n) {
+			valueNode.put("doubleValue", n.doubleValue());
+		}
+		else {
+			valueNode.put("stringValue", String.valueOf(value));
+		}
+	}
+
+	private static String version() {
+		final String version = Tracer.class.getPackage().getImplementationVersion();
+		return version != null ? version : "unknown";
+	}
+
+	private static String randomId(int bytes) {
+		final byte[] id = new byte[bytes];
+		random.nextBytes(id);
+		return HexFormat.of().formatHex(id);
+	}
+}
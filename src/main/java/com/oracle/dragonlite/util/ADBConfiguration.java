@@ -1,12 +1,70 @@
 package com.oracle.dragonlite.util;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Local metadata of the database (database.json), also used as a cache to find it back on warm restarts without
+ * listing the compartment.
+ * <p>
+ * Files written before versioning only contain the connection string and the SQL Developer Web URL (version 0).
+ */
 public final class ADBConfiguration {
+	public static final int CURRENT_VERSION = 1;
+
+	private static final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	private int version;
 	private String connectionString;
 	private String sqlDevWebUrl;
 
+	private String id;
+	private String region;
+	private String compartmentId;
+	private String dbName;
+	private String lifecycleState;
+	private String dbVersion;
+	private String dbWorkload;
+	private Map<String, String> connectionStrings;
+	private String etag;
+	private long lastUpdated;
+
+	// set when the database is leased from a warm pool
+	private String poolName;
+	private String leaseId;
+
 	public ADBConfiguration() {
 	}
 
+	public static ADBConfiguration load(File file) throws IOException {
+		return mapper.readValue(file, ADBConfiguration.class);
+	}
+
+	public void save(File file) throws IOException {
+		mapper.writeValue(file, this);
+	}
+
+	/**
+	 * @return true if this file holds the metadata needed to validate the database by its OCID
+	 */
+	@JsonIgnore
+	public boolean isUsableCache() {
+		return version == CURRENT_VERSION && id != null;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public void setVersion(int version) {
+		this.version = version;
+	}
+
 	public String getConnectionString() {
 		return connectionString;
 	}
@@ -22,4 +80,100 @@ public final class ADBConfiguration {
 	public void setSqlDevWebUrl(String sqlDevWebUrl) {
 		this.sqlDevWebUrl = sqlDevWebUrl;
 	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getRegion() {
+		return region;
+	}
+
+	public void setRegion(String region) {
+		this.region = region;
+	}
+
+	public String getCompartmentId() {
+		return compartmentId;
+	}
+
+	public void setCompartmentId(String compartmentId) {
+		this.compartmentId = compartmentId;
+	}
+
+	public String getDbName() {
+		return dbName;
+	}
+
+	public void setDbName(String dbName) {
+		this.dbName = dbName;
+	}
+
+	public String getLifecycleState() {
+		return lifecycleState;
+	}
+
+	public void setLifecycleState(String lifecycleState) {
+		this.lifecycleState = lifecycleState;
+	}
+
+	public String getDbVersion() {
+		return dbVersion;
+	}
+
+	public void setDbVersion(String dbVersion) {
+		this.dbVersion = dbVersion;
+	}
+
+	public String getDbWorkload() {
+		return dbWorkload;
+	}
+
+	public void setDbWorkload(String dbWorkload) {
+		this.dbWorkload = dbWorkload;
+	}
+
+	public Map<String, String> getConnectionStrings() {
+		return connectionStrings;
+	}
+
+	public void setConnectionStrings(Map<String, String> connectionStrings) {
+		this.connectionStrings = connectionStrings;
+	}
+
+	public String getEtag() {
+		return etag;
+	}
+
+	public void setEtag(String etag) {
+		this.etag = etag;
+	}
+
+	public long getLastUpdated() {
+		return lastUpdated;
+	}
+
+	public void setLastUpdated(long lastUpdated) {
+		this.lastUpdated = lastUpdated;
+	}
+
+	public String getPoolName() {
+		return poolName;
+	}
+
+	public void setPoolName(String poolName) {
+		this.poolName = poolName;
+	}
+
+	public String getLeaseId() {
+		return leaseId;
+	}
+
+	public void setLeaseId(String leaseId) {
+		this.leaseId = leaseId;
+	}
 }
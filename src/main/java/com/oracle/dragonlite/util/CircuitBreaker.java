@@ -0,0 +1,107 @@
+package com.oracle.dragonlite.util;
+
+/**
+ * Circuit breaker over a remote dependency:
+ * <ul>
+ *     <li>CLOSED: calls go through; after {@code failureThreshold} consecutive failures it opens</li>
+ *     <li>OPEN: calls are refused until the probe delay elapsed, then one probe is allowed (HALF_OPEN)</li>
+ *     <li>HALF_OPEN: a successful probe closes it, a failed one opens it again with a doubled probe delay</li>
+ * </ul>
+ */
+public final class CircuitBreaker {
+	public enum State {
+		CLOSED,
+		OPEN,
+		HALF_OPEN
+	}
+
+	private final int failureThreshold;
+	private final long initialProbeDelay;
+	private final long maxProbeDelay;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long probeDelay;
+	private long openedAt;
+	private long lastTransition = System.currentTimeMillis();
+
+	public CircuitBreaker(int failureThreshold, long initialProbeDelay, long maxProbeDelay) {
+		this.failureThreshold = failureThreshold;
+		this.initialProbeDelay = initialProbeDelay;
+		this.maxProbeDelay = maxProbeDelay;
+		this.probeDelay = initialProbeDelay;
+	}
+
+	/**
+	 * @return true if a call may be attempted now (in OPEN state, switches to HALF_OPEN once the probe delay elapsed)
+	 */
+	public synchronized boolean allowRequest() {
+		if (state == State.OPEN && System.currentTimeMillis() - openedAt >= probeDelay) {
+			transition(State.HALF_OPEN);
+		}
+
+		return state != State.OPEN;
+	}
+
+	public synchronized void onSuccess() {
+		consecutiveFailures = 0;
+		probeDelay = initialProbeDelay;
+		if (state != State.CLOSED) {
+			transition(State.CLOSED);
+		}
+	}
+
+	public synchronized void onFailure() {
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN) {
+			probeDelay = Math.min(maxProbeDelay, probeDelay * 2);
+			open();
+		}
+		else if (state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+			open();
+		}
+	}
+
+	/**
+	 * Opens at once if CLOSED, without waiting for the failure threshold (e.g. a failure after a healthy period, when
+	 * waiting for more failures would take too long); same as {@link #onFailure()} otherwise.
+	 */
+	public synchronized void trip() {
+		if (state == State.CLOSED) {
+			consecutiveFailures++;
+			open();
+		}
+		else {
+			onFailure();
+		}
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+
+	public synchronized int getConsecutiveFailures() {
+		return consecutiveFailures;
+	}
+
+	/**
+	 * @return the time (ms) before the next probe is allowed, 0 if not OPEN
+	 */
+	public synchronized long getRemainingProbeDelay() {
+		return state == State.OPEN ? Math.max(0L, openedAt + probeDelay - System.currentTimeMillis()) : 0L;
+	}
+
+	public synchronized long getLastTransition() {
+		return lastTransition;
+	}
+
+	private void open() {
+		openedAt = System.currentTimeMillis();
+		transition(State.OPEN);
+	}
+
+	private void transition(State newState) {
+		state = newState;
+		lastTransition = System.currentTimeMillis();
+	}
+}
@@ -0,0 +1,117 @@
+package com.oracle.dragonlite.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free latency histogram: values (microseconds) are counted in log-linear buckets (each power of two
+ * is split in {@value #SUB_BUCKETS} buckets), so percentiles are accurate to about 12% whatever the range, for a
+ * constant memory footprint.
+ */
+public final class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 3;
+	static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	public void recordMicros(long micros) {
+		final long value = Math.max(0L, micros);
+		counts.incrementAndGet(indexOf(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	public void recordSince(long startNanoTime) {
+		recordMicros((System.nanoTime() - startNanoTime) / 1000L);
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * @return the sum of the recorded values, in microseconds
+	 */
+	public long getSumMicros() {
+		return sum.get();
+	}
+
+	public long getMaxMicros() {
+		return max.get();
+	}
+
+	/**
+	 * @param percentile between 0 and 100
+	 * @return the value (microseconds) below which this percentage of the recorded values fall, 0 if none recorded
+	 */
+	public long getPercentileMicros(double percentile) {
+		final long total = count.get();
+		if (total == 0) {
+			return 0L;
+		}
+
+		final long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100d));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(upperBoundOf(i), max.get());
+			}
+		}
+
+		return max.get();
+	}
+
+	/**
+	 * Counts the whole bucket holding the bound: values of that bucket above the bound (by at most the bucket width,
+	 * about 12%) are counted too, so cumulative histograms overcount slightly instead of dropping values.
+	 *
+	 * @return the number of values recorded up to this bound (microseconds), for cumulative histograms
+	 */
+	public long getCountBelow(long micros) {
+		if (micros < 0) {
+			return 0L;
+		}
+
+		long seen = 0;
+		for (int i = 0; i <= indexOf(micros); i++) {
+			seen += counts.get(i);
+		}
+
+		return seen;
+	}
+
+	static int indexOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		final int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long lowerBoundOf(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+
+		final int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		final long subBucket = index % SUB_BUCKETS;
+		return (1L << magnitude) + (subBucket << (magnitude - SUB_BUCKET_BITS));
+	}
+
+	static long upperBoundOf(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+
+		final int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		return lowerBoundOf(index) + (1L << (magnitude - SUB_BUCKET_BITS)) - 1;
+	}
+}
@@ -1,23 +1,38 @@
 package com.oracle.dragonlite.util;
 
 import com.oracle.dragonlite.exception.DLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URL;
-import java.util.ArrayList;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Based on https://stackoverflow.com/questions/2939218/getting-the-external-ip-address-in-java
+ * <p>
+ * The IP services are queried asynchronously and hedged: the first one at once, the next one each time a query fails
+ * or stays unanswered for {@link #HEDGE_DELAY} milliseconds. The queries still in flight are cancelled as soon as a
+ * valid address is received. The address can be cached on disk for {@link #CACHE_TTL} milliseconds.
  */
 public final class PublicIPv4Retriever {
+	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
 
 	private static final Pattern IPV4_PATTERN = Pattern.compile("^(<html><head><title>Current IP Check</title></head><body>Current IP Address: )?((([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\.){3}([01]?\\d\\d?|2[0-4]\\d|25[0-5]))(</body></html>\\n)?$");
 
@@ -30,36 +45,176 @@ public final class PublicIPv4Retriever {
 			"http://www.trackip.net/ip"
 	};
 
+	/**
+	 * Comma separated list of IP services replacing the public ones (e.g. a local stand-in).
+	 */
+	public static final String SERVICES_PROPERTY = "dragonlite.ipServices";
+
+	public static final String CACHE_FILE_NAME = "public_ip.txt";
+
+	private static final long CACHE_TTL = 10 * 60_000L;
+	private static final long HEDGE_DELAY = 300L;
+	private static final long CONNECTION_TIMEOUT = 2_000L;
+	private static final long REQUEST_TIMEOUT = 4_000L;
+	private static final long TOTAL_TIMEOUT = 15_000L;
+
+	private static final HttpClient httpClient = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofMillis(CONNECTION_TIMEOUT))
+			.followRedirects(HttpClient.Redirect.NORMAL)
+			.build();
+
 	public static String get() {
-		List<Callable<String>> callables = new ArrayList<>();
-		for (String ipService : IPV4_SERVICES) {
-			callables.add(() -> get(ipService));
+		return get(null);
+	}
+
+	/**
+	 * @param cacheDirectory directory of the cached address ({@link #CACHE_FILE_NAME}), null to always query the IP
+	 *                       services
+	 */
+	public static String get(File cacheDirectory) {
+		final File cacheFile = cacheDirectory == null ? null : new File(cacheDirectory, CACHE_FILE_NAME);
+		final String cachedAddress = readCache(cacheFile);
+		if (cachedAddress != null) {
+			return cachedAddress;
 		}
 
-		final ExecutorService executorService = Executors.newCachedThreadPool();
+		final String services = System.getProperty(SERVICES_PROPERTY);
+		final String address;
 		try {
-			return executorService.invokeAny(callables);
+			address = new Discovery(services != null ? services.split(",") : IPV4_SERVICES).start().get(TOTAL_TIMEOUT, TimeUnit.MILLISECONDS);
 		}
-		catch (Exception e) {
+		catch (ExecutionException e) {
+			throw new DLException(DLException.UNKNOWN_CURRENT_IP_ADDRESS, e.getCause());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 			throw new DLException(DLException.UNKNOWN_CURRENT_IP_ADDRESS, e);
 		}
-		finally {
-			executorService.shutdown();
+		catch (TimeoutException e) {
+			throw new DLException(DLException.UNKNOWN_CURRENT_IP_ADDRESS, e);
 		}
+
+		writeCache(cacheFile, address);
+		return address;
 	}
 
-	private static String get(String url) throws IOException {
-		try (BufferedReader in = new BufferedReader(new InputStreamReader(new URL(url).openStream()))) {
-			final String ip = in.readLine();
-			final Matcher m = IPV4_PATTERN.matcher(ip);
-			if (m.matches()) {
-				return m.group(2);
+	/**
+	 * @return the cached address if it is recent enough, null otherwise
+	 */
+	private static String readCache(File cacheFile) {
+		if (cacheFile == null || !cacheFile.isFile() || System.currentTimeMillis() - cacheFile.lastModified() > CACHE_TTL) {
+			return null;
+		}
+
+		try {
+			return parse(Files.readString(cacheFile.toPath(), StandardCharsets.US_ASCII).trim());
+		}
+		catch (IOException e) {
+			logger.warn("Ignoring cached public IP address: " + e.getMessage());
+			return null;
+		}
+	}
+
+	private static void writeCache(File cacheFile, String address) {
+		if (cacheFile == null) {
+			return;
+		}
+
+		try {
+			// written aside then moved, a concurrent reader never sees a partial address
+			final File temporaryFile = new File(cacheFile.getPath() + ".tmp");
+			Files.writeString(temporaryFile.toPath(), address, StandardCharsets.US_ASCII);
+			Files.move(temporaryFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e) {
+			logger.warn("Can't cache public IP address: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * One hedged discovery: the result completes with the first valid address, or fails once every service failed.
+	 */
+	private static final class Discovery {
+		private final String[] services;
+		private final CompletableFuture<String> result = new CompletableFuture<>();
+		private final List<CompletableFuture<?>> queries = new CopyOnWriteArrayList<>();
+		private final AtomicInteger next = new AtomicInteger();
+		private final AtomicInteger failures = new AtomicInteger();
+
+		Discovery(String[] services) {
+			this.services = services;
+		}
+
+		CompletableFuture<String> start() {
+			result.whenComplete((address, throwable) -> queries.forEach(query -> query.cancel(true)));
+			queryNext();
+			return result;
+		}
+
+		private void queryNext() {
+			final int index = next.getAndIncrement();
+			if (index >= services.length || result.isDone()) {
+				return;
+			}
+
+			final HttpRequest request;
+			try {
+				request = HttpRequest.newBuilder(URI.create(services[index].trim()))
+						.timeout(Duration.ofMillis(REQUEST_TIMEOUT))
+						.GET()
+						.build();
+			}
+			catch (IllegalArgumentException e) {
+				failed(new IOException("Invalid IP service URL: " + services[index], e));
+				return;
+			}
+
+			final CompletableFuture<HttpResponse<String>> query = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+			queries.add(query);
+			query.whenComplete((response, throwable) -> {
+				if (throwable != null) {
+					failed(throwable);
+					return;
+				}
+
+				try {
+					if (response.statusCode() != 200) {
+						throw new IOException(services[index] + " answered " + response.statusCode());
+					}
+					result.complete(parse(response.body().lines().findFirst().orElse("")));
+				}
+				catch (IOException e) {
+					failed(e);
+				}
+			});
+
+			// hedging: the next service is queried if this one is slow to answer
+			CompletableFuture.delayedExecutor(HEDGE_DELAY, TimeUnit.MILLISECONDS).execute(this::queryNext);
+		}
+
+		private void failed(Throwable throwable) {
+			if (failures.incrementAndGet() >= services.length) {
+				result.completeExceptionally(throwable);
 			}
 			else {
-				throw new IOException("Invalid IPv4 address: " + ip);
+				queryNext();
 			}
 		}
 	}
 
+	/**
+	 * @param line first line returned by an IP service, either the address alone or the dyndns HTML page
+	 * @return the IPv4 address
+	 */
+	static String parse(String line) throws IOException {
+		final Matcher m = IPV4_PATTERN.matcher(line);
+		if (m.matches()) {
+			return m.group(2);
+		}
+		else {
+			throw new IOException("Invalid IPv4 address: " + line);
+		}
+	}
+
 	//private static final Pattern IPV4_PATTERN = Pattern.compile("^(([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\.){3}([01]?\\d\\d?|2[0-4]\\d|25[0-5])$");
 }
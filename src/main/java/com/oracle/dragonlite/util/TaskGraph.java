@@ -0,0 +1,111 @@
+package com.oracle.dragonlite.util;
+
+import com.oracle.dragonlite.tracing.Span;
+import com.oracle.dragonlite.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent tasks (typically WAN round trips) concurrently; dependent tasks start as soon as their input is
+ * available, and callers only wait where they actually need a result. The duration of each task is logged, and each
+ * task is traced as a child of the span current when it was submitted.
+ */
+public final class TaskGraph implements AutoCloseable {
+	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
+
+	private final String name;
+	private final ExecutorService executor;
+	private final List<CompletableFuture<?>> tasks = new ArrayList<>();
+	private final long startTime = System.currentTimeMillis();
+
+	public TaskGraph(final String name, final int parallelism) {
+		this.name = name;
+		final AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(parallelism, r -> {
+			final Thread t = new Thread(r, name + "-" + threadNumber.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Starts a task without dependency.
+	 */
+	public <T> CompletableFuture<T> submit(final String phase, final Supplier<T> task) {
+		return register(CompletableFuture.supplyAsync(timed(phase, Tracer.current(), task), executor));
+	}
+
+	/**
+	 * Starts a task once the one it depends on completed successfully.
+	 */
+	public <U, T> CompletableFuture<T> then(final String phase, final CompletableFuture<U> dependency, final Function<U, T> task) {
+		final Span parent = Tracer.current();
+		return register(dependency.thenApplyAsync(input -> timed(phase, parent, () -> task.apply(input)).get(), executor));
+	}
+
+	/**
+	 * Waits for the result of a task, rethrowing its failure as is.
+	 */
+	public static <T> T join(final CompletableFuture<T> task) {
+		try {
+			return task.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			if (e.getCause() instanceof Error err) {
+				throw err;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Cancels the tasks whose result was not needed and releases the threads.
+	 */
+	@Override
+	public void close() {
+		synchronized (tasks) {
+			for (CompletableFuture<?> task : tasks) {
+				task.cancel(true);
+			}
+		}
+		executor.shutdownNow();
+	}
+
+	private <T> CompletableFuture<T> register(final CompletableFuture<T> task) {
+		synchronized (tasks) {
+			tasks.add(task);
+		}
+		return task;
+	}
+
+	private <T> Supplier<T> timed(final String phase, final Span parent, final Supplier<T> task) {
+		return () -> {
+			final long phaseStartTime = System.currentTimeMillis();
+			try (Span span = Tracer.start(phase, parent)) {
+				try {
+					return task.get();
+				}
+				catch (RuntimeException e) {
+					span.setError(e);
+					throw e;
+				}
+			}
+			finally {
+				logger.info(String.format("%s: %s took %s (started at +%dms)", name, phase, Utils.getDurationSince(phaseStartTime), phaseStartTime - startTime));
+			}
+		};
+	}
+}
@@ -4,5 +4,9 @@ public enum Action {
 	StartDatabase,
 	TerminateDatabase,
 	CreateUser,
-	DropUser
+	DropUser,
+	ProvisionFleet,
+	ManagePool,
+	ClaimSchema,
+	ReleaseSchema
 }
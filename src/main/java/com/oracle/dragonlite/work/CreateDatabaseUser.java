@@ -3,6 +3,8 @@ package com.oracle.dragonlite.work;
 import com.oracle.dragonlite.Main;
 import com.oracle.dragonlite.exception.DLException;
 import com.oracle.dragonlite.rest.ADBRESTService;
+import com.oracle.dragonlite.tracing.Span;
+import com.oracle.dragonlite.tracing.Tracer;
 import com.oracle.dragonlite.util.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +22,22 @@ public class CreateDatabaseUser {
 		final ADBRESTService adminORDS = new ADBRESTService(sqlDevWebURL,
 				"ADMIN", session.getAdminPassword());
 
+		try (Span span = Tracer.start("application user creation")) {
+			try {
+				createUser(adminORDS, session.getUsername(), session.getUserPassword());
+			}
+			catch (DLException dle) {
+				span.setError(dle);
+				logger.error("Can't create application user", dle);
+				throw dle;
+			}
+		}
+	}
+
+	/**
+	 * Creates a fully granted user, REST enabled.
+	 */
+	static void createUser(ADBRESTService adminORDS, String username, String password) {
 		final String createUserScript = """
 				DECLARE
 					username varchar2(128) := '%s';
@@ -79,13 +97,7 @@ public class CreateDatabaseUser {
 				/
 				""";
 
-		try {
-			logger.info(String.format("Creating application user %s", session.getUsername()));
-			adminORDS.execute(String.format(createUserScript, session.getUsername(), session.getUserPassword()), 1);
-		}
-		catch (DLException dle) {
-			logger.error("Can't create application user", dle);
-			throw dle;
-		}
+		logger.info(String.format("Creating application user %s", username));
+		adminORDS.execute(String.format(createUserScript, username, password), 1);
 	}
 }
@@ -3,6 +3,8 @@ package com.oracle.dragonlite.work;
 import com.oracle.dragonlite.Main;
 import com.oracle.dragonlite.exception.DLException;
 import com.oracle.dragonlite.rest.ADBRESTService;
+import com.oracle.dragonlite.tracing.Span;
+import com.oracle.dragonlite.tracing.Tracer;
 import com.oracle.dragonlite.util.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +21,22 @@ public class DropDatabaseUser {
 	public static void dropApplicationUser(Main session, String sqlDevWebURL) {
 		final ADBRESTService adminORDS = new ADBRESTService(sqlDevWebURL, "ADMIN", session.getAdminPassword());
 
+		try (Span span = Tracer.start("application user drop")) {
+			try {
+				dropUser(adminORDS, session.getUsername());
+			}
+			catch (DLException dle) {
+				span.setError(dle);
+				logger.error("Can't drop application user", dle);
+				throw dle;
+			}
+		}
+	}
+
+	/**
+	 * Kills the sessions of the user, then drops it (and its REST definitions).
+	 */
+	static void dropUser(ADBRESTService adminORDS, String username) {
 		final String dropUserScript = """
 				DECLARE
 					 l_username varchar2(128) := '%s';
@@ -63,14 +81,8 @@ public class DropDatabaseUser {
 				 
 				 /""";
 
-		try {
-			logger.info(String.format("Dropping application user %s", session.getUsername()));
-			adminORDS.execute(String.format(dropUserScript, session.getUsername()), 1);
-		}
-		catch (DLException dle) {
-			logger.error("Can't drop application user", dle);
-			throw dle;
-		}
+		logger.info(String.format("Dropping application user %s", username));
+		adminORDS.execute(String.format(dropUserScript, username), 1);
 	}
 
 }
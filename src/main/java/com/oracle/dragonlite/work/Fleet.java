@@ -0,0 +1,152 @@
+package com.oracle.dragonlite.work;
+
+import com.oracle.dragonlite.Main;
+import com.oracle.dragonlite.exception.DLException;
+import com.oracle.dragonlite.tracing.Span;
+import com.oracle.dragonlite.tracing.Tracer;
+import com.oracle.dragonlite.util.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts (creating them if needed) all the databases of a manifest from a single process: at most
+ * {@link Main#getFleetConcurrency()} databases are handled at the same time, all of them using the OCI clients of the
+ * session, and one readiness report is printed at the end.
+ */
+public class Fleet {
+	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
+
+	public static final int DEFAULT_CONCURRENCY = 4;
+
+	record Result(String dbName, int errorCode, String duration, String sqlDevWebUrl) {
+		boolean isReady() {
+			return errorCode == 0;
+		}
+	}
+
+	public static void work(Main session, final long processStartTime) {
+		final List<FleetManifest.DatabaseSpec> databases = loadManifest(session);
+
+		final AtomicInteger threadNumber = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(session.getFleetConcurrency(), databases.size()), r -> {
+			final Thread t = new Thread(r, "Fleet-" + threadNumber.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+
+		final List<Result> results = new ArrayList<>();
+		final Span parent = Tracer.current();
+		try {
+			final List<CompletableFuture<Result>> tasks = new ArrayList<>();
+			for (FleetManifest.DatabaseSpec spec : databases) {
+				tasks.add(CompletableFuture.supplyAsync(() -> start(session.forDatabase(spec), parent), executor));
+			}
+
+			for (CompletableFuture<Result> task : tasks) {
+				results.add(task.join());
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		final long ready = results.stream().filter(Result::isReady).count();
+		System.out.println(generateReport(results));
+		if (ready < results.size()) {
+			throw new DLException(DLException.FLEET_PROVISIONING_FAILURE);
+		}
+
+		System.out.printf("FLEET IS READY TO USE! [%s]%n", Utils.getDurationSince(processStartTime));
+	}
+
+	private static List<FleetManifest.DatabaseSpec> loadManifest(Main session) {
+		if (session.getFleetManifestFile() == null || !session.getFleetManifestFile().isFile()) {
+			throw new DLException(DLException.INVALID_FLEET_MANIFEST);
+		}
+
+		final FleetManifest manifest;
+		try {
+			manifest = FleetManifest.load(session.getFleetManifestFile());
+		}
+		catch (IOException e) {
+			throw new DLException(DLException.INVALID_FLEET_MANIFEST, e);
+		}
+
+		if (manifest.getDatabases() == null || manifest.getDatabases().isEmpty()) {
+			throw new DLException(DLException.INVALID_FLEET_MANIFEST);
+		}
+
+		final Set<String> names = new HashSet<>();
+		for (FleetManifest.DatabaseSpec spec : manifest.getDatabases()) {
+			if (spec.getName() == null || spec.getName().isBlank() || !names.add(spec.getName().toLowerCase())) {
+				logger.error("Invalid or duplicate database name in fleet manifest: " + spec.getName());
+				throw new DLException(DLException.INVALID_FLEET_MANIFEST);
+			}
+		}
+
+		return manifest.getDatabases();
+	}
+
+	private static Result start(Main database, Span parent) {
+		final long startTime = System.currentTimeMillis();
+		try (Span span = Tracer.start("fleet database", parent)) {
+			span.setAttribute("db.name", database.getDbName());
+			try {
+				Start.work(database, startTime);
+			}
+			catch (DLException e) {
+				if (e.getErrorCode() == DLException.DATABASE_ALREADY_EXISTS) {
+					Utils.sleep(1000L);
+					Start.work(database, startTime);
+				}
+				else {
+					throw e;
+				}
+			}
+
+			database.startConnectivityMonitor();
+
+			return new Result(database.getDbName(), 0, Utils.getDurationSince(startTime), database.getSqlDevWebURL());
+		}
+		catch (DLException e) {
+			logger.error(database.getDbName() + ": database startup failed (" + e.getErrorCode() + ")", e);
+			return new Result(database.getDbName(), e.getErrorCode(), Utils.getDurationSince(startTime), null);
+		}
+		catch (RuntimeException e) {
+			logger.error(database.getDbName() + ": database startup failed", e);
+			return new Result(database.getDbName(), -1, Utils.getDurationSince(startTime), null);
+		}
+	}
+
+	private static String generateReport(List<Result> results) {
+		final StringBuilder sb = new StringBuilder("\nFleet: ")
+				.append(results.stream().filter(Result::isReady).count()).append("/").append(results.size())
+				.append(" database(s) ready\n");
+
+		for (Result result : results) {
+			sb.append("|\\_ ").append(result.dbName()).append(": ");
+			if (result.isReady()) {
+				sb.append("READY [").append(result.duration()).append("]");
+				if (result.sqlDevWebUrl() != null) {
+					sb.append(" ").append(result.sqlDevWebUrl());
+				}
+			}
+			else {
+				sb.append("FAILED (").append(result.errorCode()).append(") [").append(result.duration()).append("]");
+			}
+			sb.append("\n");
+		}
+
+		return sb.toString();
+	}
+}
@@ -0,0 +1,127 @@
+package com.oracle.dragonlite.work;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON manifest of the databases of a fleet, e.g.:
+ * <pre>
+ * {"databases": [
+ *   {"name": "grid01", "version": "19c", "workloadType": "json", "user": "test", "userPassword": "..."},
+ *   {"name": "grid02", "version": "21c", "workloadType": "oltp", "freeTiers": false}
+ * ]}
+ * </pre>
+ * Any property not given for a database takes the value passed on the command line.
+ */
+public final class FleetManifest {
+	private static final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	private List<DatabaseSpec> databases = new ArrayList<>();
+
+	public FleetManifest() {
+	}
+
+	public static FleetManifest load(File file) throws IOException {
+		return mapper.readValue(file, FleetManifest.class);
+	}
+
+	public List<DatabaseSpec> getDatabases() {
+		return databases;
+	}
+
+	public void setDatabases(List<DatabaseSpec> databases) {
+		this.databases = databases;
+	}
+
+	public static final class DatabaseSpec {
+		private String name;
+		private String version;
+		private String workloadType;
+		private String user;
+		private String userPassword;
+		private String adminPassword;
+		private String ipAddresses;
+		private Boolean freeTiers;
+		private Boolean byol;
+
+		public DatabaseSpec() {
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getVersion() {
+			return version;
+		}
+
+		public void setVersion(String version) {
+			this.version = version;
+		}
+
+		public String getWorkloadType() {
+			return workloadType;
+		}
+
+		public void setWorkloadType(String workloadType) {
+			this.workloadType = workloadType;
+		}
+
+		public String getUser() {
+			return user;
+		}
+
+		public void setUser(String user) {
+			this.user = user;
+		}
+
+		public String getUserPassword() {
+			return userPassword;
+		}
+
+		public void setUserPassword(String userPassword) {
+			this.userPassword = userPassword;
+		}
+
+		public String getAdminPassword() {
+			return adminPassword;
+		}
+
+		public void setAdminPassword(String adminPassword) {
+			this.adminPassword = adminPassword;
+		}
+
+		public String getIpAddresses() {
+			return ipAddresses;
+		}
+
+		public void setIpAddresses(String ipAddresses) {
+			this.ipAddresses = ipAddresses;
+		}
+
+		public Boolean getFreeTiers() {
+			return freeTiers;
+		}
+
+		public void setFreeTiers(Boolean freeTiers) {
+			this.freeTiers = freeTiers;
+		}
+
+		public Boolean getByol() {
+			return byol;
+		}
+
+		public void setByol(Boolean byol) {
+			this.byol = byol;
+		}
+	}
+}
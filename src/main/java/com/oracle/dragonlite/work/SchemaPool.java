@@ -0,0 +1,223 @@
+package com.oracle.dragonlite.work;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.dragonlite.Main;
+import com.oracle.dragonlite.exception.DLException;
+import com.oracle.dragonlite.rest.ADBRESTService;
+import com.oracle.dragonlite.util.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Pool of fully granted schemas on a shared database (-u sharedDatabase -sp &lt;size&gt;): test environments get an
+ * isolated schema in one round trip instead of running the user creation script, and give it back in one round trip
+ * instead of waiting for its sessions to be killed and the user to be dropped.
+ * <p>
+ * The pool is a table of the ADMIN schema; schemas are claimed by an autonomous transaction function skipping the
+ * rows locked by concurrent claims, so anyone can claim a schema with:
+ * <pre>SELECT dragonlite_claim_schema('&lt;lease id&gt;') FROM dual</pre>
+ * A background reclaimer, run by the process that started the shared database, drops the released schemas and
+ * creates new ones to keep {@link Main#getSchemaPoolSize()} schemas ready.
+ */
+public class SchemaPool {
+	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
+
+	static final long RECLAIM_INTERVAL = 10_000L;
+	static final long STALE_LEASE_CHECK_INTERVAL = 60 * 60 * 1000L;
+	static final String SCHEMA_PREFIX = "DLS_";
+
+	private static final Pattern USERNAME = Pattern.compile("[A-Za-z][A-Za-z0-9_$#]{0,127}");
+	private static final String PASSWORD_CHARACTERS = "ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz23456789";
+	private static final SecureRandom random = new SecureRandom();
+	private static final ObjectMapper mapper = new ObjectMapper();
+
+	private static long lastStaleLeaseCheck;
+
+	private static final List<String> INSTALL_SCRIPT = List.of("""
+					DECLARE
+						l_count NUMBER;
+					BEGIN
+						select count(*) into l_count from user_tables where table_name = 'DRAGONLITE_SCHEMA_POOL';
+						if l_count = 0 then
+							execute immediate 'create table dragonlite_schema_pool (username varchar2(128) primary key, password varchar2(60) not null, status varchar2(16) not null, lease_id varchar2(64), leased_at timestamp, released_at timestamp)';
+						end if;
+					END;
+					/""",
+			"""
+					CREATE OR REPLACE FUNCTION dragonlite_claim_schema(p_lease_id varchar2) RETURN varchar2 IS
+						PRAGMA AUTONOMOUS_TRANSACTION;
+						CURSOR c_free IS SELECT username, password FROM dragonlite_schema_pool WHERE status = 'FREE' FOR UPDATE SKIP LOCKED;
+						l_username dragonlite_schema_pool.username%TYPE;
+						l_password dragonlite_schema_pool.password%TYPE;
+					BEGIN
+						OPEN c_free;
+						FETCH c_free INTO l_username, l_password;
+						IF c_free%NOTFOUND THEN
+							CLOSE c_free;
+							ROLLBACK;
+							RETURN NULL;
+						END IF;
+						UPDATE dragonlite_schema_pool SET status = 'LEASED', lease_id = p_lease_id, leased_at = systimestamp WHERE CURRENT OF c_free;
+						CLOSE c_free;
+						COMMIT;
+						RETURN json_object('username' VALUE l_username, 'password' VALUE l_password);
+					END;
+					/""",
+			"""
+					CREATE OR REPLACE PROCEDURE dragonlite_release_schema(p_username varchar2) IS
+						PRAGMA AUTONOMOUS_TRANSACTION;
+					BEGIN
+						UPDATE dragonlite_schema_pool SET status = 'RELEASED', released_at = systimestamp WHERE username = upper(p_username) AND status = 'LEASED';
+						COMMIT;
+					END;
+					/""");
+
+	/**
+	 * Installs the pool on the shared database, then starts the background reclaimer filling it.
+	 */
+	public static void start(Main session) {
+		final ADBRESTService adminORDS = new ADBRESTService(session.getSqlDevWebURL(), "ADMIN", session.getAdminPassword());
+
+		try {
+			adminORDS.executeBatch(INSTALL_SCRIPT, 1);
+		}
+		catch (DLException dle) {
+			logger.error("Can't install the schema pool", dle);
+			throw new DLException(DLException.CANT_INSTALL_SCHEMA_POOL, dle);
+		}
+
+		final ScheduledExecutorService reclaimer = Executors.newSingleThreadScheduledExecutor(r -> {
+			final Thread t = new Thread(r, "Schema pool reclaimer");
+			t.setDaemon(true);
+			return t;
+		});
+		reclaimer.scheduleWithFixedDelay(() -> reclaim(adminORDS, session.getSchemaPoolSize()), 0L, RECLAIM_INTERVAL, TimeUnit.MILLISECONDS);
+
+		logger.info(String.format("schema pool of %d schema(s) started", session.getSchemaPoolSize()));
+	}
+
+	/**
+	 * Claims a schema of the pool.
+	 */
+	public static void claim(Main session, final long processStartTime) {
+		final ADBRESTService adminORDS = new ADBRESTService(session.getSqlDevWebURL(), "ADMIN", session.getAdminPassword());
+		final String leaseId = UUID.randomUUID().toString();
+
+		final AtomicReference<Object> claim = new AtomicReference<>();
+		adminORDS.execute(String.format("SELECT dragonlite_claim_schema('%s') AS claim FROM dual", leaseId), 1,
+				(statementId, row) -> claim.set(row.get("claim")));
+
+		if (claim.get() == null) {
+			logger.error("no schema available in the pool");
+			throw new DLException(DLException.NO_SCHEMA_AVAILABLE);
+		}
+
+		final JsonNode schema;
+		try {
+			schema = mapper.readTree(claim.get().toString());
+		}
+		catch (JsonProcessingException e) {
+			throw new DLException(DLException.ORDS_ERROR, e);
+		}
+
+		System.out.printf("CLAIMED SCHEMA %s (password: %s)! [%s]%n", schema.get("username").asText(), schema.get("password").asText(),
+				Utils.getDurationSince(processStartTime));
+	}
+
+	/**
+	 * Gives the schema (-u) back to the pool: it will be dropped and replaced asynchronously.
+	 */
+	public static void release(Main session, final long processStartTime) {
+		checkUsername(session.getUsername());
+
+		final ADBRESTService adminORDS = new ADBRESTService(session.getSqlDevWebURL(), "ADMIN", session.getAdminPassword());
+		adminORDS.execute(String.format("BEGIN dragonlite_release_schema('%s'); END;", session.getUsername()), 1);
+
+		System.out.printf("RELEASED SCHEMA %s! [%s]%n", session.getUsername().toUpperCase(), Utils.getDurationSince(processStartTime));
+	}
+
+	/**
+	 * Drops the released schemas, then creates the missing free ones. Schemas are only dropped once released: nothing
+	 * tells a schema still in use from an abandoned one, the ones leased for more than a day are only logged (hourly).
+	 * <p>
+	 * A new schema is recorded (CREATING) before its user is created, then made FREE: a user whose creation failed or
+	 * was interrupted is never lost. This reclaimer being the only one creating schemas, the CREATING rows found when
+	 * it starts a run are such leftovers, dropped like the released ones.
+	 * <p>
+	 * Failures are only logged, the next run will retry (an exception would cancel the next runs).
+	 */
+	static void reclaim(ADBRESTService adminORDS, int poolSize) {
+		try {
+			if (System.currentTimeMillis() - lastStaleLeaseCheck >= STALE_LEASE_CHECK_INTERVAL) {
+				final List<String> stale;
+				try (Stream<Map<String, Object>> rows = adminORDS.query("SELECT username FROM dragonlite_schema_pool WHERE status = 'LEASED' AND leased_at < systimestamp - INTERVAL '1' DAY ORDER BY username", 100)) {
+					stale = rows.map(row -> row.get("username").toString()).toList();
+				}
+				lastStaleLeaseCheck = System.currentTimeMillis();
+				if (!stale.isEmpty()) {
+					logger.warn(String.format("schema pool: %d schema(s) leased for more than a day, not released yet: %s", stale.size(), String.join(", ", stale)));
+				}
+			}
+
+			final List<String> released;
+			try (Stream<Map<String, Object>> rows = adminORDS.query("SELECT username FROM dragonlite_schema_pool WHERE status IN ('RELEASED', 'CREATING') ORDER BY username", 100)) {
+				released = rows.map(row -> row.get("username").toString()).toList();
+			}
+
+			for (String username : released) {
+				DropDatabaseUser.dropUser(adminORDS, username);
+				adminORDS.execute(String.format("DELETE FROM dragonlite_schema_pool WHERE username = '%s'", username), 1);
+			}
+
+			final int free;
+			try (Stream<Map<String, Object>> rows = adminORDS.query("SELECT count(*) AS free FROM dragonlite_schema_pool WHERE status = 'FREE'", 1)) {
+				free = rows.findFirst().map(row -> ((Number) row.get("free")).intValue()).orElse(0);
+			}
+
+			for (int i = free; i < poolSize; i++) {
+				final String username = SCHEMA_PREFIX + randomString(12).toUpperCase();
+				final String password = randomString(20) + "Dl9";
+
+				adminORDS.execute(String.format("INSERT INTO dragonlite_schema_pool (username, password, status) VALUES ('%s', '%s', 'CREATING')", username, password), 1);
+				CreateDatabaseUser.createUser(adminORDS, username, password);
+				adminORDS.execute(String.format("UPDATE dragonlite_schema_pool SET status = 'FREE' WHERE username = '%s'", username), 1);
+			}
+
+			if (!released.isEmpty() || free < poolSize) {
+				logger.info(String.format("schema pool: %d schema(s) reclaimed, %d created", released.size(), Math.max(0, poolSize - free)));
+			}
+		}
+		catch (RuntimeException e) {
+			logger.warn("schema pool reclamation failed: " + e.getMessage());
+		}
+	}
+
+	private static void checkUsername(String username) {
+		if (username == null || !USERNAME.matcher(username).matches()) {
+			logger.error("invalid schema name: " + username);
+			throw new DLException(DLException.UNKNOWN_COMMAND_LINE_ARGUMENT);
+		}
+	}
+
+	private static String randomString(int length) {
+		final StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			sb.append(PASSWORD_CHARACTERS.charAt(random.nextInt(PASSWORD_CHARACTERS.length())));
+		}
+
+		return sb.toString();
+	}
+}
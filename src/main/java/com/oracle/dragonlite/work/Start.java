@@ -1,8 +1,6 @@
 package com.oracle.dragonlite.work;
 
-import com.oracle.bmc.database.DatabaseWaiters;
 import com.oracle.bmc.database.model.AutonomousDatabase;
-import com.oracle.bmc.database.model.AutonomousDatabaseConnectionStrings;
 import com.oracle.bmc.database.model.AutonomousDatabaseSummary;
 import com.oracle.bmc.database.model.CreateAutonomousDatabaseBase;
 import com.oracle.bmc.database.model.CreateAutonomousDatabaseDetails;
@@ -15,63 +13,113 @@ import com.oracle.bmc.database.requests.StartAutonomousDatabaseRequest;
 import com.oracle.bmc.database.requests.StopAutonomousDatabaseRequest;
 import com.oracle.bmc.database.responses.CreateAutonomousDatabaseResponse;
 import com.oracle.bmc.database.responses.GetAutonomousDatabaseResponse;
-import com.oracle.bmc.database.responses.ListAutonomousDatabasesResponse;
 import com.oracle.bmc.database.responses.StartAutonomousDatabaseResponse;
 import com.oracle.bmc.database.responses.StopAutonomousDatabaseResponse;
 import com.oracle.bmc.identity.requests.GetUserRequest;
 import com.oracle.bmc.identity.responses.GetUserResponse;
 import com.oracle.bmc.model.BmcException;
-import com.oracle.bmc.workrequests.WorkRequestClient;
-import com.oracle.bmc.workrequests.model.WorkRequestError;
-import com.oracle.bmc.workrequests.requests.GetWorkRequestRequest;
-import com.oracle.bmc.workrequests.requests.ListWorkRequestErrorsRequest;
-import com.oracle.bmc.workrequests.responses.GetWorkRequestResponse;
-import com.oracle.bmc.workrequests.responses.ListWorkRequestErrorsResponse;
 import com.oracle.dragonlite.Main;
 import com.oracle.dragonlite.exception.DLException;
+import com.oracle.dragonlite.oci.DatabaseLookup;
 import com.oracle.dragonlite.rest.ADBRESTService;
+import com.oracle.dragonlite.tracing.Span;
+import com.oracle.dragonlite.tracing.Tracer;
+import com.oracle.dragonlite.util.ADBConfiguration;
 import com.oracle.dragonlite.util.PublicIPv4Retriever;
+import com.oracle.dragonlite.util.TaskGraph;
 import com.oracle.dragonlite.util.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class Start {
 	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
 
+	/**
+	 * Shape of the databases created (paid ones, free tier databases ignore it).
+	 */
+	public static final int CPU_CORE_COUNT = 1;
+	public static final int DATA_STORAGE_SIZE_IN_TBS = 1;
+
 	public static void work(Main session, final long processStartTime) {
+		final String name = session.getDbName();
+		session.getServiceState().setDatabaseStatus(name, "STARTING", name, null, null);
+
+		try (Span span = Tracer.start("database startup"); TaskGraph startup = new TaskGraph("Startup", 4)) {
+			span.setAttribute("db.name", name);
+			try {
+				work(session, processStartTime, startup);
+			}
+			catch (RuntimeException e) {
+				span.setError(e);
+				throw e;
+			}
+		}
+		catch (RuntimeException e) {
+			session.getServiceState().setDatabaseStatus(name, "FAILED", session.getDbName(), null, null);
+			throw e;
+		}
+
+		final ADBConfiguration configuration = session.getDatabaseConfiguration();
+		session.getServiceState().setDatabaseStatus(name, "READY", session.getDbName(), session.getSqlDevWebURL(),
+				configuration == null ? null : configuration.getConnectionString());
+	}
+
+	private static void work(Main session, final long processStartTime, final TaskGraph startup) {
 		// -2- validate the database with the wanted name doesn't exist already inside the given compartment
-		final ListAutonomousDatabasesRequest listADB = ListAutonomousDatabasesRequest.builder()
-				.displayName(session.getDbName()+"_Database")
+		final ListAutonomousDatabasesRequest listADB = DatabaseLookup.byDisplayName(session.getConfigFile().get("compartment_id"), session.getDbName())
 				.dbVersion(session.getVersion())
 				.dbWorkload(session.getWorkloadTypeSummary())
-				.compartmentId(session.getConfigFile().get("compartment_id"))
 				.build();
-		final ListAutonomousDatabasesResponse listADBResponse = session.getDbClient().listAutonomousDatabases(listADB);
+
 		boolean dbNameAlreadyExists = false;
 
 		AutonomousDatabaseSummary alreadyExistADB = null;
 
-		for (AutonomousDatabaseSummary adb : listADBResponse.getItems()) {
-			if (adb.getLifecycleState() != AutonomousDatabaseSummary.LifecycleState.Terminated) {
-				if (adb.getDbName().equals(session.getDbName())) {
-					dbNameAlreadyExists = true;
-					alreadyExistADB = adb;
-					break;
-				}
+		// a pre-provisioned database leased from the warm pool only needs to be started
+		if (session.getWarmPool() != null) {
+			alreadyExistADB = Tracer.trace("warm pool claim", () -> WarmPool.claim(session));
+			if (alreadyExistADB == null) {
+				logger.warn("no database available in warm pool " + session.getWarmPool() + ", creating " + session.getDbName());
 			}
 		}
 
+		// warm restart: validate the database known from the local metadata with a single call
+		if (alreadyExistADB == null) {
+			alreadyExistADB = Tracer.trace("cached database validation", () -> findCachedDatabase(session));
+		}
+
+		CompletableFuture<Void> capacity = null;
+		CompletableFuture<List<CustomerContact>> customerContacts = null;
+		CompletableFuture<String> currentIPAddress = null;
+
+		if (alreadyExistADB != null) {
+			dbNameAlreadyExists = true;
+		}
+		else {
+			// independent WAN round trips, the creation path needs all of them: run them concurrently while listing
+			final CompletableFuture<AutonomousDatabaseSummary> lookup = startup.submit("database lookup", () -> session.getDatabaseLookup().findByDbName(listADB, session.getDbName()));
+			capacity = startup.submit("capacity pre-flight", () -> {
+				session.getCapacityPlanner().check(1);
+				return null;
+			});
+			customerContacts = startup.submit("customer contacts", () -> retrieveCustomerContacts(session));
+			currentIPAddress = startup.submit("public IP address", () -> retrieveCurrentIPAddress(session));
+
+			alreadyExistADB = TaskGraph.join(lookup);
+			dbNameAlreadyExists = alreadyExistADB != null;
+		}
+
 		String infoPanel = null;
 
 		if (dbNameAlreadyExists) {
-			boolean provisionedByAnotherSession = false;
-
 			logger.warn("database already exists");
 
 			// if it exists already, validate this matches the one wanted!
@@ -97,71 +145,16 @@ public class Start {
 
 				if(alreadyExistADB.getLifecycleState() != AutonomousDatabaseSummary.LifecycleState.Provisioning) {
 					// Start!
-					WorkRequestClient workRequestClient = new WorkRequestClient(session.getProvider());
-					workRequestClient.setRegion(session.getProvider().getRegion());
-					StartAutonomousDatabaseResponse responseTerminate = session.getDbClient().startAutonomousDatabase(StartAutonomousDatabaseRequest.builder().autonomousDatabaseId(alreadyExistADB.getId()).build());
-					String workRequestId = responseTerminate.getOpcWorkRequestId();
-
-					GetWorkRequestRequest getWorkRequestRequest = GetWorkRequestRequest.builder().workRequestId(workRequestId).build();
-					boolean exit = false;
-					long startTime = System.currentTimeMillis();
-					float pendingProgressMove = 0f;
-					do {
-						GetWorkRequestResponse getWorkRequestResponse = workRequestClient.getWorkRequest(getWorkRequestRequest);
-						switch (getWorkRequestResponse.getWorkRequest().getStatus()) {
-							case Succeeded:
-								exit = true;
-								break;
-							case Failed:
-								final ListWorkRequestErrorsResponse response = workRequestClient.listWorkRequestErrors(ListWorkRequestErrorsRequest.builder().workRequestId(workRequestId).opcRequestId(getWorkRequestResponse.getOpcRequestId()).build());
-								final StringBuilder errors = new StringBuilder();
-								int i = 0;
-								for (WorkRequestError e : response.getItems()) {
-									if (i > 0) {
-										errors.append("\n");
-									}
-									errors.append(e.getMessage());
-									i++;
-								}
-								logger.error(errors.toString());
-								throw new DLException(DLException.CANT_START_ADBS);
-							case Accepted:
-								logger.debug("Start accepted");
-								break;
-							case InProgress:
-								logger.debug("Start in progress: " + getWorkRequestResponse.getWorkRequest().getPercentComplete());
-								break;
-						}
-
-						Utils.sleep(1000L);
-
-					}
-					while (!exit);
+					final String adbId = alreadyExistADB.getId();
+					StartAutonomousDatabaseResponse responseStart = Tracer.trace("database start request",
+							() -> session.getDbClient().startAutonomousDatabase(StartAutonomousDatabaseRequest.builder().autonomousDatabaseId(adbId).build()));
+					alreadyExistADB = toSummary(session.getWorkRequestTracker().track(responseStart.getOpcWorkRequestId(), "Start", DLException.CANT_START_ADBS,
+							alreadyExistADB.getId(), AutonomousDatabase.LifecycleState.Available, DLException.WAIT_FOR_START_FAILURE));
 				} else {
-					provisionedByAnotherSession = true;
 					logger.warn("database is being provisioned...");
-				}
 
-				DatabaseWaiters waiter = session.getDbClient().getWaiters();
-				try {
-					final GetAutonomousDatabaseResponse responseGet = waiter.forAutonomousDatabase(GetAutonomousDatabaseRequest.builder().autonomousDatabaseId(alreadyExistADB.getId()).build(),
-							new AutonomousDatabase.LifecycleState[]{AutonomousDatabase.LifecycleState.Available}).execute();
-				}
-				catch (Exception e) {
-					throw new DLException(DLException.WAIT_FOR_START_FAILURE, e);
-				}
-			}
-
-			// database restarted or provisioned by another sessions!
-			if(provisionedByAnotherSession) {
-				final ListAutonomousDatabasesResponse listADBResponse2 = session.getDbClient().listAutonomousDatabases(listADB);
-				for (AutonomousDatabaseSummary adb : listADBResponse2.getItems()) {
-					if (adb.getLifecycleState() != AutonomousDatabaseSummary.LifecycleState.Terminated) {
-						if (adb.getDbName().equals(session.getDbName())) {
-							alreadyExistADB = adb;
-							break;
-						}
-					}
+					// database provisioned by another session: its confirmed state holds the connection URLs
+					alreadyExistADB = toSummary(session.getWorkRequestTracker().confirmLifecycleState(alreadyExistADB.getId(), AutonomousDatabase.LifecycleState.Available, DLException.WAIT_FOR_START_FAILURE));
 				}
 			}
 
@@ -169,59 +162,13 @@ public class Start {
 					"ADMIN", session.getAdminPassword());
 
 			try {
-				adminORDS.execute("SELECT 1 FROM DUAL", 30);
+				Tracer.trace("ADMIN connection check", () -> adminORDS.execute("SELECT 1 FROM DUAL", 30));
 			}
 			catch (DLException dle) {
 				// Stop, wrong database!
-				WorkRequestClient workRequestClient = new WorkRequestClient(session.getProvider());
-				workRequestClient.setRegion(session.getProvider().getRegion());
-				StopAutonomousDatabaseResponse responseTerminate = session.getDbClient().stopAutonomousDatabase(StopAutonomousDatabaseRequest.builder().autonomousDatabaseId(alreadyExistADB.getId()).build());
-				String workRequestId = responseTerminate.getOpcWorkRequestId();
-
-				GetWorkRequestRequest getWorkRequestRequest = GetWorkRequestRequest.builder().workRequestId(workRequestId).build();
-				boolean exit = false;
-				long startTime = System.currentTimeMillis();
-				float pendingProgressMove = 0f;
-				do {
-					GetWorkRequestResponse getWorkRequestResponse = workRequestClient.getWorkRequest(getWorkRequestRequest);
-					switch (getWorkRequestResponse.getWorkRequest().getStatus()) {
-						case Succeeded:
-							exit = true;
-							break;
-						case Failed:
-							final ListWorkRequestErrorsResponse response = workRequestClient.listWorkRequestErrors(ListWorkRequestErrorsRequest.builder().workRequestId(workRequestId).opcRequestId(getWorkRequestResponse.getOpcRequestId()).build());
-							final StringBuilder errors = new StringBuilder();
-							int i = 0;
-							for (WorkRequestError e : response.getItems()) {
-								if (i > 0) {
-									errors.append("\n");
-								}
-								errors.append(e.getMessage());
-								i++;
-							}
-							logger.error(errors.toString());
-							throw new DLException(DLException.CANT_STOP_ADBS);
-						case Accepted:
-							logger.debug("Stop accepted");
-							break;
-						case InProgress:
-							logger.debug("Stop in progress: " + getWorkRequestResponse.getWorkRequest().getPercentComplete());
-							break;
-					}
-
-					Utils.sleep(1000L);
-
-				}
-				while (!exit);
-
-				DatabaseWaiters waiter = session.getDbClient().getWaiters();
-				try {
-					final GetAutonomousDatabaseResponse responseGet = waiter.forAutonomousDatabase(GetAutonomousDatabaseRequest.builder().autonomousDatabaseId(alreadyExistADB.getId()).build(),
-							new AutonomousDatabase.LifecycleState[]{AutonomousDatabase.LifecycleState.Available}).execute();
-				}
-				catch (Exception e) {
-					throw new DLException(DLException.WAIT_FOR_STOP_FAILURE, e);
-				}
+				StopAutonomousDatabaseResponse responseStop = session.getDbClient().stopAutonomousDatabase(StopAutonomousDatabaseRequest.builder().autonomousDatabaseId(alreadyExistADB.getId()).build());
+				session.getWorkRequestTracker().track(responseStop.getOpcWorkRequestId(), "Stop", DLException.CANT_STOP_ADBS,
+						alreadyExistADB.getId(), AutonomousDatabase.LifecycleState.Stopped, DLException.WAIT_FOR_STOP_FAILURE);
 
 				if (session.isFreeTiersDatabaseResourceExhausted()) {
 					logger.error("FREE_TIERS_DATABASE_RESOURCE_EXHAUSTED");
@@ -245,7 +192,7 @@ public class Start {
 						session.getUsername().toUpperCase(), session.getUserPassword());
 
 				try {
-					userORDS.execute("SELECT 1 FROM DUAL", 1);
+					Tracer.trace("application user check", () -> userORDS.execute("SELECT 1 FROM DUAL", 1));
 				}
 				catch (DLException dle) {
 					CreateDatabaseUser.createApplicationUser(session, alreadyExistADB.getConnectionUrls().getSqlDevWebUrl());
@@ -254,60 +201,29 @@ public class Start {
 
 			infoPanel = generateInfoPanel(alreadyExistADB);
 
-			generateDatabaseConfiguration(alreadyExistADB.getConnectionStrings(),alreadyExistADB.getConnectionUrls().getSqlDevWebUrl());
+			generateDatabaseConfiguration(session, alreadyExistADB);
 		}
 		//--------------------------------------------------------------------------------------------------------------
 		// Database does not exist:
 		else {
-			if (session.isFreeDatabase() && session.isFreeTiersDatabaseResourceExhausted()) {
-				logger.error("FREE_TIERS_DATABASE_RESOURCE_EXHAUSTED");
-				throw new DLException(DLException.FREE_TIERS_DATABASE_RESOURCE_EXHAUSTED);
-			}
+			// fails fast, before the creation request, if the tenancy limits are reached
+			TaskGraph.join(capacity);
 
 			logger.info("create new database!");
 
-			GetUserResponse userResponse = session.getIdentityClient().getUser(GetUserRequest.builder().userId(session.getConfigFile().get("user")).build());
-
-			final List<CustomerContact> customerContacts = new ArrayList<>();
-			if (userResponse.getUser().getEmail() != null) {
-				customerContacts.add(CustomerContact.builder().email(userResponse.getUser().getEmail()).build());
-			}
-
-			CreateAutonomousDatabaseBase.DbWorkload databaseType = session.getWorkloadType();
-
-			CreateAutonomousDatabaseDetails createFreeRequest = CreateAutonomousDatabaseDetails.builder()
-					.dbVersion(session.getVersion())
-					.cpuCoreCount(1)
-					.dataStorageSizeInTBs(1)
+			final CreateAutonomousDatabaseDetails createFreeRequest = newCreateDetails(session, TaskGraph.join(customerContacts), TaskGraph.join(currentIPAddress))
 					.displayName(session.getDbName() + "_Database")
-					.adminPassword(session.getUserPassword())
 					.dbName(session.getDbName())
-					.compartmentId(session.getConfigFile().get("compartment_id"))
-					.dbWorkload(databaseType)
-					.isAutoScalingEnabled(!session.isFreeDatabase() && (databaseType == CreateAutonomousDatabaseBase.DbWorkload.Oltp ||
-							databaseType == CreateAutonomousDatabaseBase.DbWorkload.Ajd || databaseType == CreateAutonomousDatabaseBase.DbWorkload.Dw))
-					.licenseModel(session.isFreeDatabase() || databaseType == CreateAutonomousDatabaseBase.DbWorkload.Ajd ? CreateAutonomousDatabaseBase.LicenseModel.LicenseIncluded :
-							(session.isByol() ? CreateAutonomousDatabaseBase.LicenseModel.BringYourOwnLicense : CreateAutonomousDatabaseBase.LicenseModel.LicenseIncluded))
-					.isPreviewVersionWithServiceTermsAccepted(Boolean.FALSE)
-					.isFreeTier(session.isFreeDatabase() ? Boolean.TRUE : Boolean.FALSE)
-					.customerContacts(customerContacts)
-					// ACLs
-					.arePrimaryWhitelistedIpsUsed(true)
-					.whitelistedIps(Arrays.stream((session.getInvokerIPAddress() + "," + retrieveCurrentIPAddress()).split(",")).toList())
-					// no wallets
-					.isMtlsConnectionRequired(false)
-					.autonomousMaintenanceScheduleType(CreateAutonomousDatabaseBase.AutonomousMaintenanceScheduleType.Regular)
 					.build();
 
 			String workRequestId = null;
 			AutonomousDatabase autonomousDatabase = null;
-			WorkRequestClient workRequestClient = new WorkRequestClient(session.getProvider());
-			workRequestClient.setRegion(session.getProvider().getRegion());
 
 			BmcException creationException = null;
 
 			try {
-				CreateAutonomousDatabaseResponse responseCreate = session.getDbClient().createAutonomousDatabase(CreateAutonomousDatabaseRequest.builder().createAutonomousDatabaseDetails(createFreeRequest).build());
+				CreateAutonomousDatabaseResponse responseCreate = Tracer.trace("database creation request",
+						() -> session.getDbClient().createAutonomousDatabase(CreateAutonomousDatabaseRequest.builder().createAutonomousDatabaseDetails(createFreeRequest).build()));
 				autonomousDatabase = responseCreate.getAutonomousDatabase();
 				workRequestId = responseCreate.getOpcWorkRequestId();
 			}
@@ -333,57 +249,8 @@ public class Start {
 				throw new DLException(DLException.DATABASE_CREATION_FATAL_ERROR, creationException);
 			}
 
-			GetWorkRequestRequest getWorkRequestRequest = GetWorkRequestRequest.builder().workRequestId(workRequestId).build();
-			boolean exit = false;
-			long startTime = System.currentTimeMillis();
-			float pendingProgressMove = 0f;
-			boolean probe = true;
-			GetWorkRequestResponse getWorkRequestResponse = null;
-			do {
-				if (probe) {
-					getWorkRequestResponse = workRequestClient.getWorkRequest(getWorkRequestRequest);
-				}
-				switch (getWorkRequestResponse.getWorkRequest().getStatus()) {
-					case Succeeded:
-						exit = true;
-						break;
-					case Failed:
-						final ListWorkRequestErrorsResponse response = workRequestClient.listWorkRequestErrors(ListWorkRequestErrorsRequest.builder().workRequestId(workRequestId).opcRequestId(getWorkRequestResponse.getOpcRequestId()).build());
-						final StringBuilder errors = new StringBuilder();
-						int i = 0;
-						for (WorkRequestError e : response.getItems()) {
-							if (i > 0) {
-								errors.append("\n");
-							}
-							errors.append(e.getMessage());
-							i++;
-						}
-
-						logger.error(errors.toString());
-						throw new DLException(DLException.DATABASE_CREATION_FATAL_ERROR);
-					case Accepted:
-						logger.debug("Database creation accepted");
-						break;
-					case InProgress:
-						logger.debug("Database creation in progress: " + getWorkRequestResponse.getWorkRequest().getPercentComplete());
-						break;
-				}
-
-				Utils.sleep(1000L);
-
-				probe = !probe;
-			}
-			while (!exit);
-
-			DatabaseWaiters waiter = session.getDbClient().getWaiters();
-			try {
-				GetAutonomousDatabaseResponse responseGet = waiter.forAutonomousDatabase(GetAutonomousDatabaseRequest.builder().autonomousDatabaseId(autonomousDatabase.getId()).build(),
-						new AutonomousDatabase.LifecycleState[]{AutonomousDatabase.LifecycleState.Available}).execute();
-				autonomousDatabase = responseGet.getAutonomousDatabase();
-			}
-			catch (Exception e) {
-				throw new DLException(DLException.WAIT_FOR_CREATION_FAILURE, e);
-			}
+			autonomousDatabase = session.getWorkRequestTracker().track(workRequestId, "Database creation", DLException.DATABASE_CREATION_FATAL_ERROR,
+					autonomousDatabase.getId(), AutonomousDatabase.LifecycleState.Available, DLException.WAIT_FOR_CREATION_FAILURE);
 
 			if(!"sharedDatabase".equalsIgnoreCase(session.getUsername())) {
 				CreateDatabaseUser.createApplicationUser(session, autonomousDatabase.getConnectionUrls().getSqlDevWebUrl());
@@ -391,7 +258,7 @@ public class Start {
 
 			infoPanel = generateInfoPanel(autonomousDatabase);
 
-			generateDatabaseConfiguration(autonomousDatabase.getConnectionStrings(), autonomousDatabase.getConnectionUrls().getSqlDevWebUrl());
+			generateDatabaseConfiguration(session, toSummary(autonomousDatabase));
 		}
 
 		System.out.printf("DATABASE IS READY TO USE! [%s]%n", Utils.getDurationSince(processStartTime));
@@ -401,6 +268,34 @@ public class Start {
 		}
 	}
 
+	/**
+	 * @return the creation details of a database for this session, without its names
+	 */
+	static CreateAutonomousDatabaseDetails.Builder newCreateDetails(Main session, List<CustomerContact> customerContacts, String currentIPAddress) {
+		final CreateAutonomousDatabaseBase.DbWorkload databaseType = session.getWorkloadType();
+
+		return CreateAutonomousDatabaseDetails.builder()
+				.dbVersion(session.getVersion())
+				.cpuCoreCount(CPU_CORE_COUNT)
+				.dataStorageSizeInTBs(DATA_STORAGE_SIZE_IN_TBS)
+				.adminPassword(session.getUserPassword())
+				.compartmentId(session.getConfigFile().get("compartment_id"))
+				.dbWorkload(databaseType)
+				.isAutoScalingEnabled(!session.isFreeDatabase() && (databaseType == CreateAutonomousDatabaseBase.DbWorkload.Oltp ||
+						databaseType == CreateAutonomousDatabaseBase.DbWorkload.Ajd || databaseType == CreateAutonomousDatabaseBase.DbWorkload.Dw))
+				.licenseModel(session.isFreeDatabase() || databaseType == CreateAutonomousDatabaseBase.DbWorkload.Ajd ? CreateAutonomousDatabaseBase.LicenseModel.LicenseIncluded :
+						(session.isByol() ? CreateAutonomousDatabaseBase.LicenseModel.BringYourOwnLicense : CreateAutonomousDatabaseBase.LicenseModel.LicenseIncluded))
+				.isPreviewVersionWithServiceTermsAccepted(Boolean.FALSE)
+				.isFreeTier(session.isFreeDatabase() ? Boolean.TRUE : Boolean.FALSE)
+				.customerContacts(customerContacts)
+				// ACLs
+				.arePrimaryWhitelistedIpsUsed(true)
+				.whitelistedIps(Arrays.stream((session.getInvokerIPAddress() + "," + currentIPAddress).split(",")).toList())
+				// no wallets
+				.isMtlsConnectionRequired(false)
+				.autonomousMaintenanceScheduleType(CreateAutonomousDatabaseBase.AutonomousMaintenanceScheduleType.Regular);
+	}
+
 	private static String generateInfoPanel(AutonomousDatabaseSummary adb) {
 		final StringBuilder sb = new StringBuilder("\nDatabase: ").append(adb.getDbName()).append("\n")
 				.append("|\\_ version: ").append(adb.getDbVersion()).append("\n")
@@ -465,22 +360,123 @@ public class Start {
 		};
 	}
 
-	private static void generateDatabaseConfiguration(AutonomousDatabaseConnectionStrings connectionStrings, String SqlDevWebUrl) {
-		for (DatabaseConnectionStringProfile dcsp : connectionStrings.getProfiles()) {
-			if (dcsp.getDisplayName().toLowerCase().endsWith("_low") && dcsp.getTlsAuthentication() == DatabaseConnectionStringProfile.TlsAuthentication.Server) {
-				try (PrintWriter out = new PrintWriter("database.json")) {
-					out.printf("{\"connectionString\": \"%s\", \"sqlDevWebUrl\": \"%s\"}", dcsp.getValue().replaceAll("\"", "\\\\\""), SqlDevWebUrl);
-				}
-				catch (IOException ioe) {
-					throw new DLException(DLException.CANT_WRITE_DATABASE_CONFIGURATION);
+	private static void generateDatabaseConfiguration(Main session, AutonomousDatabaseSummary adb) {
+		Tracer.run("database configuration write", () -> writeDatabaseConfiguration(session, adb));
+	}
+
+	private static void writeDatabaseConfiguration(Main session, AutonomousDatabaseSummary adb) {
+		final ADBConfiguration configuration = new ADBConfiguration();
+		configuration.setVersion(ADBConfiguration.CURRENT_VERSION);
+		configuration.setSqlDevWebUrl(adb.getConnectionUrls().getSqlDevWebUrl());
+		configuration.setId(adb.getId());
+		configuration.setRegion(session.getProvider().getRegion());
+		configuration.setCompartmentId(session.getConfigFile().get("compartment_id"));
+		configuration.setDbName(adb.getDbName());
+		configuration.setLifecycleState(adb.getLifecycleState().getValue());
+		configuration.setDbVersion(adb.getDbVersion());
+		configuration.setDbWorkload(adb.getDbWorkload().getValue());
+		configuration.setLastUpdated(System.currentTimeMillis());
+		if (session.getLeaseId() != null) {
+			configuration.setPoolName(session.getWarmPool());
+			configuration.setLeaseId(session.getLeaseId());
+		}
+
+		final ADBConfiguration previous = session.getDatabaseConfiguration();
+		if (previous != null && adb.getId().equals(previous.getId())) {
+			configuration.setEtag(previous.getEtag());
+		}
+
+		final Map<String, String> connectionStrings = new LinkedHashMap<>();
+		for (DatabaseConnectionStringProfile dcsp : adb.getConnectionStrings().getProfiles()) {
+			if (dcsp.getTlsAuthentication() == DatabaseConnectionStringProfile.TlsAuthentication.Server) {
+				connectionStrings.put(dcsp.getDisplayName(), dcsp.getValue());
+				if (dcsp.getDisplayName().toLowerCase().endsWith("_low")) {
+					configuration.setConnectionString(dcsp.getValue());
 				}
-				break;
 			}
 		}
+		configuration.setConnectionStrings(connectionStrings);
+
+		try {
+			configuration.save(session.getDatabaseConfigurationFile());
+			session.setDatabaseConfiguration(configuration);
+		}
+		catch (IOException ioe) {
+			throw new DLException(DLException.CANT_WRITE_DATABASE_CONFIGURATION);
+		}
+	}
+
+	/**
+	 * Looks for the database recorded in the local metadata: a single GetAutonomousDatabase by OCID validates it is
+	 * still the wanted one.
+	 *
+	 * @return the database, or null if there is no usable metadata or it is stale (the compartment must then be listed)
+	 */
+	private static AutonomousDatabaseSummary findCachedDatabase(Main session) {
+		final ADBConfiguration cache = session.getDatabaseConfiguration();
+		if (cache == null || !cache.isUsableCache() || !session.getDbName().equals(cache.getDbName()) ||
+				!session.getProvider().getRegion().equals(cache.getRegion()) ||
+				!session.getConfigFile().get("compartment_id").equals(cache.getCompartmentId())) {
+			return null;
+		}
+
+		try {
+			final GetAutonomousDatabaseResponse response = session.getDbClient().getAutonomousDatabase(GetAutonomousDatabaseRequest.builder().autonomousDatabaseId(cache.getId()).build());
+			final AutonomousDatabase adb = response.getAutonomousDatabase();
+
+			if (!session.getDbName().equals(adb.getDbName()) ||
+					adb.getLifecycleState() == AutonomousDatabase.LifecycleState.Terminated ||
+					adb.getLifecycleState() == AutonomousDatabase.LifecycleState.Terminating) {
+				logger.info("cached database metadata is stale, listing databases");
+				return null;
+			}
+
+			cache.setEtag(response.getEtag());
+			logger.info("database found from cached metadata");
+			return toSummary(adb);
+		}
+		catch (BmcException e) {
+			logger.info(String.format("cached database metadata can't be validated (%d), listing databases", e.getStatusCode()));
+			return null;
+		}
+	}
+
+	/**
+	 * Converts a database into a summary, for the properties used to validate, configure and describe it.
+	 */
+	static AutonomousDatabaseSummary toSummary(AutonomousDatabase adb) {
+		return AutonomousDatabaseSummary.builder()
+				.id(adb.getId())
+				.compartmentId(adb.getCompartmentId())
+				.displayName(adb.getDisplayName())
+				.dbName(adb.getDbName())
+				.dbVersion(adb.getDbVersion())
+				.dbWorkload(AutonomousDatabaseSummary.DbWorkload.create(adb.getDbWorkload().getValue()))
+				.lifecycleState(AutonomousDatabaseSummary.LifecycleState.create(adb.getLifecycleState().getValue()))
+				.isFreeTier(adb.getIsFreeTier())
+				.isAutoScalingEnabled(adb.getIsAutoScalingEnabled())
+				.isAutoScalingForStorageEnabled(adb.getIsAutoScalingForStorageEnabled())
+				.serviceConsoleUrl(adb.getServiceConsoleUrl())
+				.apexDetails(adb.getApexDetails())
+				.connectionUrls(adb.getConnectionUrls())
+				.connectionStrings(adb.getConnectionStrings())
+				.freeformTags(adb.getFreeformTags())
+				.build();
+	}
+
+	static List<CustomerContact> retrieveCustomerContacts(Main session) {
+		final GetUserResponse userResponse = session.getIdentityClient().getUser(GetUserRequest.builder().userId(session.getConfigFile().get("user")).build());
+
+		final List<CustomerContact> customerContacts = new ArrayList<>();
+		if (userResponse.getUser().getEmail() != null) {
+			customerContacts.add(CustomerContact.builder().email(userResponse.getUser().getEmail()).build());
+		}
+
+		return customerContacts;
 	}
 
-	private static String retrieveCurrentIPAddress() {
-		return PublicIPv4Retriever.get();
+	static String retrieveCurrentIPAddress(Main session) {
+		return PublicIPv4Retriever.get(session.getWorkingDirectory());
 
 //		try {
 //			final HttpRequest request = HttpRequest.newBuilder()
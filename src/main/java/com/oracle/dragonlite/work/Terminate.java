@@ -1,99 +1,48 @@
 package com.oracle.dragonlite.work;
 
-import com.oracle.bmc.database.DatabaseWaiters;
 import com.oracle.bmc.database.model.AutonomousDatabase;
 import com.oracle.bmc.database.model.AutonomousDatabaseSummary;
 import com.oracle.bmc.database.requests.DeleteAutonomousDatabaseRequest;
-import com.oracle.bmc.database.requests.GetAutonomousDatabaseRequest;
 import com.oracle.bmc.database.requests.ListAutonomousDatabasesRequest;
 import com.oracle.bmc.database.responses.DeleteAutonomousDatabaseResponse;
-import com.oracle.bmc.database.responses.GetAutonomousDatabaseResponse;
-import com.oracle.bmc.database.responses.ListAutonomousDatabasesResponse;
-import com.oracle.bmc.workrequests.WorkRequestClient;
-import com.oracle.bmc.workrequests.model.WorkRequestError;
-import com.oracle.bmc.workrequests.requests.GetWorkRequestRequest;
-import com.oracle.bmc.workrequests.requests.ListWorkRequestErrorsRequest;
-import com.oracle.bmc.workrequests.responses.GetWorkRequestResponse;
-import com.oracle.bmc.workrequests.responses.ListWorkRequestErrorsResponse;
 import com.oracle.dragonlite.Main;
 import com.oracle.dragonlite.exception.DLException;
-import com.oracle.dragonlite.util.Utils;
+import com.oracle.dragonlite.oci.DatabaseLookup;
+import com.oracle.dragonlite.oci.WorkRequestTracker;
+import com.oracle.dragonlite.tracing.Tracer;
+import com.oracle.dragonlite.util.ADBConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-
 public class Terminate {
 	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
 
 	public static void work(Main session, final long processStartTime) {
-		final ListAutonomousDatabasesRequest listADB = ListAutonomousDatabasesRequest.builder().compartmentId(session.getConfigFile().get("compartment_id")).build();
-		final ListAutonomousDatabasesResponse listADBResponse = session.getDbClient().listAutonomousDatabases(listADB);
-
-		AutonomousDatabaseSummary autonomousDatabaseSummary = null;
-
-		for (AutonomousDatabaseSummary adb : listADBResponse.getItems()) {
-			if (adb.getLifecycleState() != AutonomousDatabaseSummary.LifecycleState.Terminated) {
-				if (adb.getDbName().equals(session.getDbName())) {
-					autonomousDatabaseSummary = adb;
-					break;
-				}
-			}
+		// a database leased from the warm pool is returned, not terminated
+		final ADBConfiguration databaseConfiguration = session.getDatabaseConfiguration();
+		if (session.getWarmPool() != null && databaseConfiguration != null && databaseConfiguration.getLeaseId() != null) {
+			Tracer.run("warm pool release", () -> WarmPool.release(session));
+			return;
 		}
 
+		final ListAutonomousDatabasesRequest listADB = DatabaseLookup.byDisplayName(session.getConfigFile().get("compartment_id"), session.getDbName()).build();
+		final AutonomousDatabaseSummary autonomousDatabaseSummary = Tracer.trace("database lookup", () -> session.getDatabaseLookup().findByDbName(listADB, session.getDbName()));
+
 		if (autonomousDatabaseSummary != null) {
 			logger.warn("Deleting database...");
 
-			WorkRequestClient workRequestClient = new WorkRequestClient(session.getProvider());
-			workRequestClient.setRegion(session.getProvider().getRegion());
-			DeleteAutonomousDatabaseResponse responseTerminate = session.getDbClient().deleteAutonomousDatabase(DeleteAutonomousDatabaseRequest.builder().autonomousDatabaseId(autonomousDatabaseSummary.getId()).build());
-			String workRequestId = responseTerminate.getOpcWorkRequestId();
-
-			GetWorkRequestRequest getWorkRequestRequest = GetWorkRequestRequest.builder().workRequestId(workRequestId).build();
-			boolean exit = false;
-			long startTime = System.currentTimeMillis();
-			do {
-				GetWorkRequestResponse getWorkRequestResponse = workRequestClient.getWorkRequest(getWorkRequestRequest);
-				switch (getWorkRequestResponse.getWorkRequest().getStatus()) {
-					case Succeeded:
-						exit = true;
-						break;
-					case Failed:
-						final ListWorkRequestErrorsResponse response = workRequestClient.listWorkRequestErrors(ListWorkRequestErrorsRequest.builder().workRequestId(workRequestId).opcRequestId(getWorkRequestResponse.getOpcRequestId()).build());
-						final StringBuilder errors = new StringBuilder();
-						int i = 0;
-						for (WorkRequestError e : response.getItems()) {
-							if (i > 0) {
-								errors.append("\n");
-							}
-							errors.append(e.getMessage());
-							i++;
-						}
-						logger.error(errors.toString());
-						throw new DLException(DLException.CANT_TERMINATE_ADBS);
-					case Accepted:
-						logger.debug("Deletion accepted");
-						break;
-					case InProgress:
-						logger.debug("Deletion in progress: " + getWorkRequestResponse.getWorkRequest().getPercentComplete());
-						break;
-				}
+			DeleteAutonomousDatabaseResponse responseTerminate = Tracer.trace("database deletion request",
+					() -> session.getDbClient().deleteAutonomousDatabase(DeleteAutonomousDatabaseRequest.builder().autonomousDatabaseId(autonomousDatabaseSummary.getId()).build()));
 
-				Utils.sleep(1000L);
-
-			}
-			while (!exit);
+			final WorkRequestTracker tracker = session.getWorkRequestTracker();
+			tracker.waitForWorkRequest(responseTerminate.getOpcWorkRequestId(), "Deletion", DLException.CANT_TERMINATE_ADBS);
 
-			DatabaseWaiters waiter = session.getDbClient().getWaiters();
 			try {
-				final GetAutonomousDatabaseResponse responseGet = waiter.forAutonomousDatabase(GetAutonomousDatabaseRequest.builder().autonomousDatabaseId(autonomousDatabaseSummary.getId()).build(),
-						new AutonomousDatabase.LifecycleState[]{AutonomousDatabase.LifecycleState.Terminated}).execute();
+				tracker.confirmLifecycleState(autonomousDatabaseSummary.getId(), AutonomousDatabase.LifecycleState.Terminated, DLException.WAIT_FOR_TERMINATION_FAILURE);
 			}
-			catch (Exception e) {
-				throw new DLException(DLException.WAIT_FOR_TERMINATION_FAILURE, e);
-			} finally {
+			finally {
 				// delete database information (connectionString...)
-				new File("database.json").delete();
+				session.getDatabaseConfigurationFile().delete();
 			}
 		}
 	}
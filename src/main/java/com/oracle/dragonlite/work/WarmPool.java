@@ -0,0 +1,472 @@
+package com.oracle.dragonlite.work;
+
+import com.oracle.bmc.database.model.AutonomousDatabase;
+import com.oracle.bmc.database.model.AutonomousDatabaseSummary;
+import com.oracle.bmc.database.model.CreateAutonomousDatabaseDetails;
+import com.oracle.bmc.database.model.CustomerContact;
+import com.oracle.bmc.database.model.UpdateAutonomousDatabaseDetails;
+import com.oracle.bmc.database.requests.CreateAutonomousDatabaseRequest;
+import com.oracle.bmc.database.requests.GetAutonomousDatabaseRequest;
+import com.oracle.bmc.database.requests.StartAutonomousDatabaseRequest;
+import com.oracle.bmc.database.requests.StopAutonomousDatabaseRequest;
+import com.oracle.bmc.database.requests.UpdateAutonomousDatabaseRequest;
+import com.oracle.bmc.database.responses.CreateAutonomousDatabaseResponse;
+import com.oracle.bmc.database.responses.GetAutonomousDatabaseResponse;
+import com.oracle.bmc.database.responses.StartAutonomousDatabaseResponse;
+import com.oracle.bmc.database.responses.StopAutonomousDatabaseResponse;
+import com.oracle.bmc.database.responses.UpdateAutonomousDatabaseResponse;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.dragonlite.Main;
+import com.oracle.dragonlite.exception.DLException;
+import com.oracle.dragonlite.oci.DatabaseLookup;
+import com.oracle.dragonlite.util.ADBConfiguration;
+import com.oracle.dragonlite.util.TaskGraph;
+import com.oracle.dragonlite.util.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Warm pool of pre-provisioned databases: the pool manager keeps {@link Main#getPoolSize()} databases of the wanted
+ * version and workload created (stopped, or running with -pr), and a container starting with -wp leases one of them
+ * instead of provisioning its own. Starting a stopped database takes a fraction of the provisioning time.
+ * <p>
+ * Leases are recorded in the freeform tags of the databases (display name &lt;pool&gt;_Pool):
+ * <ul>
+ *     <li>dragonlite-pool: name of the pool</li>
+ *     <li>dragonlite-pool-state: state of the free databases, running or stopped</li>
+ *     <li>dragonlite-lease: lease identifier, absent if the database is free</li>
+ *     <li>dragonlite-leased-at: lease timestamp (ISO-8601), renewed by the container while it runs</li>
+ * </ul>
+ * Tags are only updated with the etag of the database just read (If-Match), so two containers can't lease the same
+ * database: the loser gets a 412 and tries the next one.
+ */
+public class WarmPool {
+	private static final Logger logger = LoggerFactory.getLogger("Dragon Lite");
+
+	static final String POOL_TAG = "dragonlite-pool";
+	static final String STATE_TAG = "dragonlite-pool-state";
+	static final String LEASE_TAG = "dragonlite-lease";
+	static final String LEASED_AT_TAG = "dragonlite-leased-at";
+
+	public static final long RECONCILE_INTERVAL = 5 * 60 * 1000L;
+	public static final long LEASE_RENEWAL_INTERVAL = 60 * 60 * 1000L;
+	// leases not renewed nor released after this delay are considered abandoned (container killed)
+	static final long LEASE_TIMEOUT = 24 * 60 * 60 * 1000L;
+
+	record Status(int members, int free, int leased, int failures) {
+	}
+
+	/**
+	 * Brings the pool to its wanted size and state, then prints its status.
+	 */
+	public static void work(Main session, final long processStartTime) {
+		if (session.getWarmPool() == null) {
+			logger.error("the name of the warm pool (-wp) is required");
+			throw new DLException(DLException.UNKNOWN_COMMAND_LINE_ARGUMENT);
+		}
+
+		final Status status = reconcile(session);
+
+		System.out.printf("%nWarm pool: %s%n|\\_ databases: %d/%d%n|\\_ free: %d (%s)%n \\_ leased: %d%n", session.getWarmPool(),
+				status.members(), session.getPoolSize(), status.free(), session.isPoolRunning() ? "running" : "stopped", status.leased());
+
+		if (status.failures() > 0) {
+			throw new DLException(DLException.POOL_PROVISIONING_FAILURE);
+		}
+
+		System.out.printf("WARM POOL IS READY! [%s]%n", Utils.getDurationSince(processStartTime));
+	}
+
+	/**
+	 * Periodic reconciliation of the pool manager: failures are only logged, the next run will retry.
+	 */
+	public static void maintain(Main session) {
+		try {
+			final Status status = reconcile(session);
+			logger.info(String.format("warm pool %s: %d database(s), %d free, %d leased", session.getWarmPool(), status.members(), status.free(), status.leased()));
+		}
+		catch (DLException | BmcException e) {
+			logger.warn("warm pool reconciliation failed: " + e.getMessage());
+		}
+	}
+
+	static Status reconcile(Main session) {
+		final List<AutonomousDatabaseSummary> members = listMembers(session);
+		final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+		final List<CompletableFuture<Void>> creations = new ArrayList<>();
+		int free = 0;
+		int leased = 0;
+
+		try (TaskGraph pool = new TaskGraph("Pool", 4)) {
+			for (AutonomousDatabaseSummary member : members) {
+				final String leaseId = leaseOf(member.getFreeformTags());
+				if (leaseId != null) {
+					if (isExpired(member)) {
+						logger.warn(String.format("lease of %s expired, returning it to the pool", member.getDbName()));
+						tasks.add(pool.submit("release of " + member.getDbName(), () -> {
+							returnToPool(session, member.getId(), leaseId);
+							return null;
+						}));
+						free++;
+					}
+					else {
+						leased++;
+					}
+					continue;
+				}
+
+				free++;
+				if (session.isPoolRunning() && member.getLifecycleState() == AutonomousDatabaseSummary.LifecycleState.Stopped ||
+						!session.isPoolRunning() && member.getLifecycleState() == AutonomousDatabaseSummary.LifecycleState.Available) {
+					tasks.add(pool.submit((session.isPoolRunning() ? "start of " : "stop of ") + member.getDbName(), () -> {
+						changeStateIfFree(session, member.getId(), session.isPoolRunning());
+						return null;
+					}));
+				}
+			}
+
+			int missing = session.getPoolSize() - members.size();
+			if (missing > 0) {
+				// limits may have changed since the previous reconciliation
+				session.getCapacityPlanner().clear();
+				final int fits = session.getCapacityPlanner().fits();
+				if (fits < missing) {
+					logger.warn(String.format("tenancy limits allow %d of the %d missing pool databases", fits, missing));
+					missing = fits;
+				}
+			}
+
+			if (missing > 0) {
+				final List<CustomerContact> customerContacts = Start.retrieveCustomerContacts(session);
+				final String currentIPAddress = Start.retrieveCurrentIPAddress(session);
+
+				for (String dbName : nextMemberNames(session.getWarmPool(), members, missing)) {
+					logger.info("creating pool database " + dbName);
+					creations.add(pool.submit("creation of " + dbName, () -> {
+						createMember(session, dbName, customerContacts, currentIPAddress);
+						return null;
+					}));
+				}
+			}
+
+			final int failures = joinAll(tasks);
+			final int creationFailures = joinAll(creations);
+			final int created = creations.size() - creationFailures;
+
+			return new Status(members.size() + created, free + created, leased, failures + creationFailures);
+		}
+	}
+
+	/**
+	 * @return the number of tasks that failed
+	 */
+	private static int joinAll(List<CompletableFuture<Void>> tasks) {
+		int failures = 0;
+		for (CompletableFuture<Void> task : tasks) {
+			try {
+				TaskGraph.join(task);
+			}
+			catch (DLException | BmcException e) {
+				logger.error("warm pool operation failed", e);
+				failures++;
+			}
+		}
+
+		return failures;
+	}
+
+	/**
+	 * Leases a free database of the pool (or the one already leased by this container according to its local metadata).
+	 *
+	 * @return the leased database, null if the pool has no free database
+	 */
+	static AutonomousDatabaseSummary claim(Main session) {
+		final ADBConfiguration cache = session.getDatabaseConfiguration();
+		if (cache != null && cache.getId() != null && cache.getLeaseId() != null && session.getWarmPool().equals(cache.getPoolName())) {
+			try {
+				final AutonomousDatabase adb = get(session, cache.getId()).getAutonomousDatabase();
+				if (cache.getLeaseId().equals(leaseOf(adb.getFreeformTags())) && adb.getLifecycleState() != AutonomousDatabase.LifecycleState.Terminated &&
+						adb.getLifecycleState() != AutonomousDatabase.LifecycleState.Terminating) {
+					logger.info("pool database " + adb.getDbName() + " still leased");
+					session.setLeasedDatabase(adb.getDbName(), cache.getLeaseId());
+					return Start.toSummary(adb);
+				}
+			}
+			catch (BmcException e) {
+				logger.info(String.format("cached lease can't be validated (%d)", e.getStatusCode()));
+			}
+		}
+
+		final List<AutonomousDatabaseSummary> candidates = new ArrayList<>();
+		for (AutonomousDatabaseSummary member : listMembers(session)) {
+			if (leaseOf(member.getFreeformTags()) == null && (member.getLifecycleState() == AutonomousDatabaseSummary.LifecycleState.Available ||
+					member.getLifecycleState() == AutonomousDatabaseSummary.LifecycleState.Stopped)) {
+				candidates.add(member);
+			}
+		}
+		// concurrent containers shouldn't all compete for the same database; running ones first
+		Collections.shuffle(candidates);
+		candidates.sort(Comparator.comparing(member -> member.getLifecycleState() != AutonomousDatabaseSummary.LifecycleState.Available));
+
+		final String leaseId = UUID.randomUUID().toString();
+		for (AutonomousDatabaseSummary candidate : candidates) {
+			try {
+				final GetAutonomousDatabaseResponse current = get(session, candidate.getId());
+				if (leaseOf(current.getAutonomousDatabase().getFreeformTags()) != null) {
+					continue;
+				}
+
+				final Map<String, String> tags = new HashMap<>(current.getAutonomousDatabase().getFreeformTags());
+				tags.put(LEASE_TAG, leaseId);
+				tags.put(LEASED_AT_TAG, Instant.now().toString());
+
+				final UpdateAutonomousDatabaseResponse updated = updateTags(session, candidate.getId(), current.getEtag(), tags);
+				logger.info("leased pool database " + candidate.getDbName());
+				session.setLeasedDatabase(candidate.getDbName(), leaseId);
+
+				AutonomousDatabase adb = updated.getAutonomousDatabase();
+				if (adb.getLifecycleState() == AutonomousDatabase.LifecycleState.Updating) {
+					adb = session.getWorkRequestTracker().confirmLifecycleState(adb.getId(), current.getAutonomousDatabase().getLifecycleState(),
+							DLException.CANT_CLAIM_POOL_DATABASE);
+				}
+
+				return Start.toSummary(adb);
+			}
+			catch (BmcException e) {
+				if (e.getStatusCode() == 412 || e.getStatusCode() == 409) {
+					logger.info("pool database " + candidate.getDbName() + " leased concurrently, trying next one");
+					continue;
+				}
+
+				throw new DLException(DLException.CANT_CLAIM_POOL_DATABASE, e);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the database leased by this container to the pool.
+	 */
+	static void release(Main session) {
+		final ADBConfiguration cache = session.getDatabaseConfiguration();
+		if (cache == null || cache.getId() == null || cache.getLeaseId() == null) {
+			logger.warn("no pool database leased");
+			return;
+		}
+
+		try {
+			returnToPool(session, cache.getId(), cache.getLeaseId());
+		}
+		catch (BmcException e) {
+			throw new DLException(DLException.CANT_RELEASE_POOL_DATABASE, e);
+		}
+		finally {
+			session.getDatabaseConfigurationFile().delete();
+		}
+	}
+
+	/**
+	 * Renews the lease of the database leased by this container, so that the pool manager doesn't reclaim it while the
+	 * container runs. Failures are only logged, the next renewal will retry.
+	 */
+	public static void renew(Main session) {
+		final ADBConfiguration cache = session.getDatabaseConfiguration();
+		if (cache == null || cache.getId() == null || cache.getLeaseId() == null) {
+			return;
+		}
+
+		try {
+			final GetAutonomousDatabaseResponse current = get(session, cache.getId());
+			if (!cache.getLeaseId().equals(leaseOf(current.getAutonomousDatabase().getFreeformTags()))) {
+				logger.warn("lease of " + current.getAutonomousDatabase().getDbName() + " lost, can't renew it");
+				return;
+			}
+
+			final Map<String, String> tags = new HashMap<>(current.getAutonomousDatabase().getFreeformTags());
+			tags.put(LEASED_AT_TAG, Instant.now().toString());
+			updateTags(session, cache.getId(), current.getEtag(), tags);
+			logger.info("lease of pool database " + current.getAutonomousDatabase().getDbName() + " renewed");
+		}
+		catch (BmcException e) {
+			logger.warn(String.format("lease renewal failed (%d): %s", e.getStatusCode(), e.getMessage()));
+		}
+	}
+
+	/**
+	 * Stops the database (unless the pool keeps them running), then removes the lease: the database can't be leased
+	 * again while stopping.
+	 */
+	private static void returnToPool(Main session, String id, String leaseId) {
+		GetAutonomousDatabaseResponse current = get(session, id);
+		if (!leaseId.equals(leaseOf(current.getAutonomousDatabase().getFreeformTags()))) {
+			logger.warn("lease of " + current.getAutonomousDatabase().getDbName() + " already released");
+			return;
+		}
+
+		final boolean running = "running".equals(current.getAutonomousDatabase().getFreeformTags().get(STATE_TAG));
+		if (!running && current.getAutonomousDatabase().getLifecycleState() == AutonomousDatabase.LifecycleState.Available) {
+			final StopAutonomousDatabaseResponse responseStop = session.getDbClient().stopAutonomousDatabase(StopAutonomousDatabaseRequest.builder()
+					.autonomousDatabaseId(id).ifMatch(current.getEtag()).build());
+			session.getWorkRequestTracker().track(responseStop.getOpcWorkRequestId(), "Stop", DLException.CANT_STOP_ADBS,
+					id, AutonomousDatabase.LifecycleState.Stopped, DLException.WAIT_FOR_STOP_FAILURE);
+			current = get(session, id);
+		}
+
+		final Map<String, String> tags = new HashMap<>(current.getAutonomousDatabase().getFreeformTags());
+		tags.remove(LEASE_TAG);
+		tags.remove(LEASED_AT_TAG);
+		updateTags(session, id, current.getEtag(), tags);
+		logger.info("pool database " + current.getAutonomousDatabase().getDbName() + " released");
+	}
+
+	private static void createMember(Main session, String dbName, List<CustomerContact> customerContacts, String currentIPAddress) {
+		final Map<String, String> tags = new HashMap<>();
+		tags.put(POOL_TAG, session.getWarmPool());
+		tags.put(STATE_TAG, session.isPoolRunning() ? "running" : "stopped");
+
+		final CreateAutonomousDatabaseDetails details = Start.newCreateDetails(session, customerContacts, currentIPAddress)
+				.displayName(session.getWarmPool() + "_Pool")
+				.dbName(dbName)
+				.freeformTags(tags)
+				.build();
+
+		final CreateAutonomousDatabaseResponse responseCreate;
+		try {
+			responseCreate = session.getDbClient().createAutonomousDatabase(CreateAutonomousDatabaseRequest.builder().createAutonomousDatabaseDetails(details).build());
+		}
+		catch (BmcException e) {
+			if (e.getStatusCode() == 400 && "LimitExceeded".equals(e.getServiceCode())) {
+				throw new DLException(DLException.DATABASE_RESOURCE_LIMIT_REACHED, e);
+			}
+			throw new DLException(DLException.DATABASE_CREATION_FATAL_ERROR, e);
+		}
+
+		final String id = responseCreate.getAutonomousDatabase().getId();
+		session.getWorkRequestTracker().track(responseCreate.getOpcWorkRequestId(), "Pool database creation", DLException.DATABASE_CREATION_FATAL_ERROR,
+				id, AutonomousDatabase.LifecycleState.Available, DLException.WAIT_FOR_CREATION_FAILURE);
+
+		if (!session.isPoolRunning()) {
+			changeStateIfFree(session, id, false);
+		}
+	}
+
+	/**
+	 * Starts or stops a free database; the If-Match etag guarantees it was not leased in the meantime.
+	 */
+	private static void changeStateIfFree(Main session, String id, boolean start) {
+		final GetAutonomousDatabaseResponse current = get(session, id);
+		if (leaseOf(current.getAutonomousDatabase().getFreeformTags()) != null) {
+			return;
+		}
+
+		try {
+			if (start) {
+				final StartAutonomousDatabaseResponse responseStart = session.getDbClient().startAutonomousDatabase(StartAutonomousDatabaseRequest.builder()
+						.autonomousDatabaseId(id).ifMatch(current.getEtag()).build());
+				session.getWorkRequestTracker().track(responseStart.getOpcWorkRequestId(), "Start", DLException.CANT_START_ADBS,
+						id, AutonomousDatabase.LifecycleState.Available, DLException.WAIT_FOR_START_FAILURE);
+			}
+			else {
+				final StopAutonomousDatabaseResponse responseStop = session.getDbClient().stopAutonomousDatabase(StopAutonomousDatabaseRequest.builder()
+						.autonomousDatabaseId(id).ifMatch(current.getEtag()).build());
+				session.getWorkRequestTracker().track(responseStop.getOpcWorkRequestId(), "Stop", DLException.CANT_STOP_ADBS,
+						id, AutonomousDatabase.LifecycleState.Stopped, DLException.WAIT_FOR_STOP_FAILURE);
+			}
+		}
+		catch (BmcException e) {
+			if (e.getStatusCode() != 412 && e.getStatusCode() != 409) {
+				throw e;
+			}
+			logger.info("pool database " + current.getAutonomousDatabase().getDbName() + " leased meanwhile");
+		}
+	}
+
+	private static List<AutonomousDatabaseSummary> listMembers(Main session) {
+		final Iterator<AutonomousDatabaseSummary> databases = session.getDatabaseLookup().iterate(
+				DatabaseLookup.byPoolName(session.getConfigFile().get("compartment_id"), session.getWarmPool())
+						.dbVersion(session.getVersion())
+						.dbWorkload(session.getWorkloadTypeSummary())
+						.build());
+
+		final List<AutonomousDatabaseSummary> members = new ArrayList<>();
+		while (databases.hasNext()) {
+			final AutonomousDatabaseSummary adb = databases.next();
+			if (adb.getLifecycleState() != AutonomousDatabaseSummary.LifecycleState.Terminated &&
+					adb.getLifecycleState() != AutonomousDatabaseSummary.LifecycleState.Terminating &&
+					adb.getFreeformTags() != null && session.getWarmPool().equals(adb.getFreeformTags().get(POOL_TAG))) {
+				members.add(adb);
+			}
+		}
+
+		return members;
+	}
+
+	/**
+	 * @return the names of the new databases of the pool: &lt;pool&gt;NN, using the first unused numbers
+	 */
+	private static List<String> nextMemberNames(String poolName, List<AutonomousDatabaseSummary> members, int count) {
+		final Set<String> used = new HashSet<>();
+		for (AutonomousDatabaseSummary member : members) {
+			used.add(member.getDbName().toLowerCase());
+		}
+
+		final List<String> names = new ArrayList<>();
+		for (int i = 1; names.size() < count; i++) {
+			final String dbName = String.format("%s%02d", poolName, i);
+			if (!used.contains(dbName.toLowerCase())) {
+				names.add(dbName);
+			}
+		}
+
+		return names;
+	}
+
+	private static GetAutonomousDatabaseResponse get(Main session, String id) {
+		return session.getDbClient().getAutonomousDatabase(GetAutonomousDatabaseRequest.builder().autonomousDatabaseId(id).build());
+	}
+
+	private static UpdateAutonomousDatabaseResponse updateTags(Main session, String id, String etag, Map<String, String> tags) {
+		return session.getDbClient().updateAutonomousDatabase(UpdateAutonomousDatabaseRequest.builder()
+				.autonomousDatabaseId(id)
+				.ifMatch(etag)
+				.updateAutonomousDatabaseDetails(UpdateAutonomousDatabaseDetails.builder().freeformTags(tags).build())
+				.build());
+	}
+
+	private static String leaseOf(Map<String, String> tags) {
+		final String leaseId = tags == null ? null : tags.get(LEASE_TAG);
+		return leaseId == null || leaseId.isEmpty() ? null : leaseId;
+	}
+
+	/**
+	 * A lease whose timestamp is missing or mangled dates from the creation of the database, so that it still expires
+	 * instead of keeping the database out of the pool for good.
+	 */
+	private static boolean isExpired(AutonomousDatabaseSummary member) {
+		long leasedAt;
+		try {
+			leasedAt = Instant.parse(member.getFreeformTags().get(LEASED_AT_TAG)).toEpochMilli();
+		}
+		catch (DateTimeParseException | NullPointerException e) {
+			logger.warn("lease of " + member.getDbName() + " has no valid " + LEASED_AT_TAG + " tag");
+			leasedAt = member.getTimeCreated() != null ? member.getTimeCreated().getTime() : 0L;
+		}
+
+		return leasedAt + LEASE_TIMEOUT < System.currentTimeMillis();
+	}
+}
@@ -0,0 +1,118 @@
+package com.oracle.dragonlite.oci;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Signs the GET and POST examples of the OCI request signing documentation
+ * (https://docs.oracle.com/en-us/iaas/Content/API/Concepts/signingrequests.htm): same URIs, body, key id and date.
+ * <p>
+ * The signing string is checked against the canonical form of the documentation (with x-date in place of date), the
+ * body hash and length against the published ones, and the signature is verified with the public key. A key pair is
+ * generated instead of the test key of the documentation, so the signature itself differs from the published one.
+ */
+class RequestSignerTest {
+	private static final String KEY_ID = "ocid1.tenancy.oc1..aaaaaaaaba3pv6wkcr4jqae5f15p2b2m2yt2j6rx32uzr4h25vqstifsfdsq/" +
+			"ocid1.user.oc1..aaaaaaaat5nvwcna5j6aqzjcaty5eqbb6qt2jvpkanghtgdaqedqw3rynjq/20:3b:97:13:55:1c:5b:0d:d3:37:d8:50:4e:c5:3a:34";
+
+	// Thu, 05 Jan 2014 21:31:40 GMT in the documentation, whose day of the week is wrong
+	private static final Clock CLOCK = Clock.fixed(Instant.parse("2014-01-05T21:31:40Z"), ZoneOffset.UTC);
+	private static final String DATE = "Sun, 05 Jan 2014 21:31:40 GMT";
+
+	private static final URI GET_URI = URI.create("https://iaas.us-phoenix-1.oraclecloud.com/20160918/instances" +
+			"?availabilityDomain=Pjwf%3A%20PHX-AD-1&compartmentId=ocid1.compartment.oc1..aaaaaaaam3we6vgnherjq5q2idnccdflvjsnog7mlr6rtdb25gilchfeyjxa" +
+			"&displayName=TeamXInstances&volumeId=ocid1.volume.oc1.phx.abyhqljrgvttnlx73nmrwfaux7kcvzfs3s66izvxf2h4lgvyndsdsnoiwr5q");
+
+	private static final URI POST_URI = URI.create("https://iaas.us-phoenix-1.oraclecloud.com/20160918/volumeAttachments");
+
+	private static final String POST_BODY = """
+			{
+			    "compartmentId": "ocid1.compartment.oc1..aaaaaaaam3we6vgnherjq5q2idnccdflvjsnog7mlr6rtdb25gilchfeyjxa",
+			    "instanceId": "ocid1.instance.oc1.phx.abuw4ljrlsfiqw6vzzxb43vyypt4pkodawglp3wqxjqofakrwvou52gb6s5a",
+			    "volumeId": "ocid1.volume.oc1.phx.abyhqljrgvttnlx73nmrwfaux7kcvzfs3s66izvxf2h4lgvyndsdsnoiwr5q"
+			}""";
+
+	// published x-content-sha256 and content-length of the POST example
+	private static final String POST_BODY_SHA256 = "V9Z20UJTvkvpJ50flBzKE32+6m2zJjweHpDMX/U4Uy0=";
+	private static final int POST_BODY_LENGTH = 316;
+
+	private static final Pattern AUTHORIZATION = Pattern.compile(
+			"Signature version=\"1\",headers=\"([^\"]+)\",keyId=\"([^\"]+)\",algorithm=\"rsa-sha256\",signature=\"([^\"]+)\"");
+
+	private static KeyPair keyPair;
+	private static RequestSigner signer;
+
+	@BeforeAll
+	static void createSigner() throws GeneralSecurityException {
+		final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		keyPair = generator.generateKeyPair();
+		signer = new RequestSigner(KEY_ID, keyPair.getPrivate(), CLOCK);
+	}
+
+	@Test
+	void signsGet() throws GeneralSecurityException {
+		final HttpRequest.Builder builder = HttpRequest.newBuilder(GET_URI).GET();
+		signer.sign(builder, "GET", GET_URI, null);
+		final HttpRequest request = builder.build();
+
+		assertEquals(DATE, request.headers().firstValue("x-date").orElse(null));
+		verify(request, "x-date (request-target) host", """
+				x-date: Sun, 05 Jan 2014 21:31:40 GMT
+				(request-target): get /20160918/instances?availabilityDomain=Pjwf%3A%20PHX-AD-1&compartmentId=ocid1.compartment.oc1..aaaaaaaam3we6vgnherjq5q2idnccdflvjsnog7mlr6rtdb25gilchfeyjxa&displayName=TeamXInstances&volumeId=ocid1.volume.oc1.phx.abyhqljrgvttnlx73nmrwfaux7kcvzfs3s66izvxf2h4lgvyndsdsnoiwr5q
+				host: iaas.us-phoenix-1.oraclecloud.com""");
+	}
+
+	@Test
+	void signsPostWithBody() throws GeneralSecurityException {
+		final byte[] body = POST_BODY.getBytes(StandardCharsets.UTF_8);
+		assertEquals(POST_BODY_LENGTH, body.length);
+
+		final HttpRequest.Builder builder = HttpRequest.newBuilder(POST_URI).POST(HttpRequest.BodyPublishers.ofByteArray(body));
+		signer.sign(builder, "POST", POST_URI, body);
+		final HttpRequest request = builder.build();
+
+		assertEquals(POST_BODY_SHA256, request.headers().firstValue("x-content-sha256").orElse(null));
+		assertEquals("application/json", request.headers().firstValue("content-type").orElse(null));
+		verify(request, "x-date (request-target) host content-length content-type x-content-sha256", """
+				x-date: Sun, 05 Jan 2014 21:31:40 GMT
+				(request-target): post /20160918/volumeAttachments
+				host: iaas.us-phoenix-1.oraclecloud.com
+				content-length: 316
+				content-type: application/json
+				x-content-sha256: V9Z20UJTvkvpJ50flBzKE32+6m2zJjweHpDMX/U4Uy0=""");
+	}
+
+	/**
+	 * Checks the Authorization header: signed headers, key id, and signature of the expected signing string.
+	 */
+	private static void verify(HttpRequest request, String expectedHeaders, String expectedSigningString) throws GeneralSecurityException {
+		final String authorization = request.headers().firstValue("Authorization").orElse("");
+		final Matcher m = AUTHORIZATION.matcher(authorization);
+		assertTrue(m.matches(), authorization);
+		assertEquals(expectedHeaders, m.group(1));
+		assertEquals(KEY_ID, m.group(2));
+
+		final Signature rsa = Signature.getInstance("SHA256withRSA");
+		rsa.initVerify(keyPair.getPublic());
+		rsa.update(expectedSigningString.getBytes(StandardCharsets.UTF_8));
+		assertTrue(rsa.verify(Base64.getDecoder().decode(m.group(3))), "signature doesn't match the signing string");
+	}
+}